@@ -0,0 +1,711 @@
+package com.devtools.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.devtools.utils.Utils;
+
+/**
+ * Generates a synthetic corpus of HBM mapping files, along with the matching Java entity sources, to benchmark and
+ * check the conversion at scale without real (and private) mappings.
+ *
+ * <p>The corpus is fully deterministic for a given {@link CorpusSettings#getSeed() seed}. It is written to:</p>
+ * <ul>
+ *   <li>{@code <outputFolder>/hbm}: the {@code *.hbm.xml} files, the input folder of the conversion</li>
+ *   <li>{@code <outputFolder>/src}: the Java sources, the output folder of the conversion in annotate mode</li>
+ * </ul>
+ *
+ * <p>Every tag of {@link com.devtools.model.hbm.Tags#TAGS} is used. Inheritance is mapped the way the converter
+ * understands it: {@code subclass} with a discriminator (single table), {@code union-subclass} (table per class)
+ * and {@code subclass} with its own table (joined).</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ *   mvn -Pjmh compile exec:java@corpus -Dcorpus.args="/path/to/outputFolder [--files N] [--classes N]
+ *       [--properties N] [--depth N] [--strategies subclass,union-subclass,joined] [--relationships N]
+ *       [--collections N] [--components N] [--queries N] [--seed N] [--package name]"
+ * </pre>
+ */
+public class CorpusGenerator {
+
+    public static final String HBM_FOLDER = "hbm";
+    public static final String SOURCES_FOLDER = "src";
+
+    private static final String QUERIES_ENTITY = "NamedQueries";
+    private static final String STATUS_ENUM = "Status";
+
+    // Hibernate type and matching Java type of the generated properties
+    private static final String[][] PROPERTY_TYPES = {
+        {"string", "String"},
+        {"long", "Long"},
+        {"integer", "Integer"},
+        {"big_decimal", "BigDecimal"},
+        {"timestamp", "Date"},
+        {"boolean", "Boolean"},
+        {"double", "Double"}
+    };
+
+    private static final String[] GENERATORS = {"sequence", "seqhilo", "identity", "native", "assigned",
+        "increment", "uuid"};
+
+    private static final String[] COLLECTION_TAGS = {"set", "list", "bag", "map"};
+
+    private final CorpusSettings settings;
+    private final Random random;
+    private final List<RootClass> rootClasses = new ArrayList<>();
+
+    public CorpusGenerator(final CorpusSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CorpusGenerator <outputFolder> [--files N] [--classes N] [--properties N] " +
+                "[--depth N] [--strategies subclass,union-subclass,joined] [--relationships N] [--collections N] " +
+                "[--components N] [--queries N] [--seed N] [--package name]");
+            System.exit(1);
+        }
+
+        final CorpusSettings settings = new CorpusSettings();
+        for (int i = 1; i < args.length; i++) {
+            final String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for option '" + option + "'");
+            }
+            final String value = args[++i];
+            switch (option) {
+                case "--files" -> settings.setFiles(Integer.parseInt(value));
+                case "--classes" -> settings.setClassesPerFile(Integer.parseInt(value));
+                case "--properties" -> settings.setProperties(Integer.parseInt(value));
+                case "--depth" -> settings.setInheritanceDepth(Integer.parseInt(value));
+                case "--strategies" -> settings.setStrategies(Arrays.asList(value.split(",")));
+                case "--relationships" -> settings.setRelationships(Integer.parseInt(value));
+                case "--collections" -> settings.setCollections(Integer.parseInt(value));
+                case "--components" -> settings.setComponents(Integer.parseInt(value));
+                case "--queries" -> settings.setQueries(Integer.parseInt(value));
+                case "--seed" -> settings.setSeed(Long.parseLong(value));
+                case "--package" -> settings.setPackageName(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        final Path outputFolder = Paths.get(args[0]);
+        new CorpusGenerator(settings).generate(outputFolder);
+        System.out.println("Generated " + settings.getFiles() + " mapping files in " + outputFolder);
+    }
+
+    /**
+     * Generates the corpus in the output folder (mapping files in {@value #HBM_FOLDER}, Java sources in
+     * {@value #SOURCES_FOLDER}).
+     */
+    public void generate(final Path outputFolder) throws IOException {
+        final Path hbmFolder = outputFolder.resolve(HBM_FOLDER);
+        final Path sourcesFolder = outputFolder.resolve(SOURCES_FOLDER)
+                .resolve(settings.getPackageName().replace('.', '/'));
+        Files.createDirectories(hbmFolder);
+        Files.createDirectories(sourcesFolder);
+
+        planClasses();
+
+        for (int file = 0; file < settings.getFiles(); file++) {
+            final StringBuilder xml = new StringBuilder();
+            appendMappingHeader(xml);
+            for (int i = 0; i < settings.getClassesPerFile(); i++) {
+                appendRootClass(xml, rootClasses.get(file * settings.getClassesPerFile() + i));
+            }
+            xml.append("</hibernate-mapping>\n");
+            Files.writeString(hbmFolder.resolve(String.format("Mapping%03d.hbm.xml", file)), xml);
+        }
+
+        Files.writeString(hbmFolder.resolve(QUERIES_ENTITY + ".hbm.xml"), queriesOnlyMapping());
+
+        for (final RootClass rootClass : rootClasses) {
+            writeSources(sourcesFolder, rootClass);
+        }
+        writeSource(sourcesFolder, STATUS_ENUM, "public enum " + STATUS_ENUM + " {\n    ACTIVE, INACTIVE\n}\n");
+        writeSource(sourcesFolder, QUERIES_ENTITY, javaClass(QUERIES_ENTITY, null, new LinkedHashMap<>(), true));
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Planning: all the classes are planned before being written, since relationships add fields on both sides
+    // ------------------------------------------------------------------------------------------------------------
+
+    private void planClasses() {
+        final int count = settings.getFiles() * settings.getClassesPerFile();
+        for (int i = 0; i < count; i++) {
+            rootClasses.add(new RootClass(String.format("Entity%04d", i + 1), i));
+        }
+
+        for (final RootClass rootClass : rootClasses) {
+            rootClass.strategy = settings.getStrategies().get(random.nextInt(settings.getStrategies().size()));
+            rootClass.generator = GENERATORS[random.nextInt(GENERATORS.length)];
+
+            final int depth = settings.getInheritanceDepth() > 0 ? random.nextInt(settings.getInheritanceDepth() + 1) : 0;
+            ChildClass parent = null;
+            for (int level = 1; level <= depth; level++) {
+                final ChildClass child = new ChildClass(rootClass.name + "L" + level, level,
+                        parent != null ? parent.name : rootClass.name);
+                rootClass.children.add(child);
+                parent = child;
+            }
+
+            planRelationships(rootClass);
+        }
+    }
+
+    private void planRelationships(final RootClass rootClass) {
+        if (rootClasses.size() < 2) {
+            return;
+        }
+
+        for (int i = 0; i < settings.getRelationships(); i++) {
+            final RootClass target = pickTarget(rootClass);
+            if (target != null) {
+                rootClass.manyToOnes.add(target);
+                rootClass.referenced.add(target.name);
+            }
+        }
+
+        for (int i = 0; i < settings.getCollections(); i++) {
+            final RootClass target = pickTarget(rootClass);
+            if (target == null) {
+                continue;
+            }
+            final String tag = COLLECTION_TAGS[(rootClass.index + i) % COLLECTION_TAGS.length];
+            rootClass.collections.add(new CollectionMapping(tag, target));
+            rootClass.referenced.add(target.name);
+
+            // Inverse sets are mapped by a many-to-one back to the owner on the target side
+            if ("set".equals(tag) && !target.referenced.contains(rootClass.name)) {
+                target.backReferences.add(rootClass);
+                target.referenced.add(rootClass.name);
+            }
+        }
+    }
+
+    private RootClass pickTarget(final RootClass rootClass) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            final RootClass target = rootClasses.get(random.nextInt(rootClasses.size()));
+            if (target != rootClass && !rootClass.referenced.contains(target.name)) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // HBM mappings
+    // ------------------------------------------------------------------------------------------------------------
+
+    private void appendMappingHeader(final StringBuilder xml) {
+        xml.append("<?xml version=\"1.0\"?>\n");
+        xml.append("<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" ")
+                .append("\"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">\n");
+        xml.append("<hibernate-mapping package=\"").append(settings.getPackageName())
+                .append("\" default-cascade=\"none\">\n");
+    }
+
+    private void appendRootClass(final StringBuilder xml, final RootClass rootClass) {
+        final boolean singleTable = CorpusSettings.STRATEGY_SUBCLASS.equals(rootClass.strategy);
+        final String name = rootClass.name;
+        final String table = table(name);
+
+        xml.append("  <class name=\"").append(name).append("\" table=\"").append(table).append('"');
+        if (rootClass.index % 2 == 0) {
+            xml.append(" dynamic-insert=\"true\" dynamic-update=\"true\"");
+        }
+        if (rootClass.index % 5 == 0) {
+            xml.append(" lazy=\"false\" mutable=\"false\"");
+        }
+        if (!rootClass.children.isEmpty() && !singleTable) {
+            xml.append(" abstract=\"true\"");
+        }
+        if (singleTable && !rootClass.children.isEmpty()) {
+            xml.append(" discriminator-value=\"ROOT\"");
+        }
+        xml.append(">\n");
+
+        xml.append("    <comment>Synthetic entity ").append(name).append("</comment>\n");
+        if (rootClass.index % 2 == 1) {
+            xml.append("    <cache usage=\"").append(rootClass.index % 4 == 1 ? "read-write" : "read-only")
+                    .append("\"/>\n");
+        }
+
+        appendId(xml, rootClass);
+
+        if (singleTable && !rootClass.children.isEmpty()) {
+            xml.append("    <discriminator type=\"string\"><column name=\"DTYPE\" length=\"31\"/></discriminator>\n");
+        }
+
+        xml.append("    <natural-id mutable=\"").append(rootClass.index % 3 == 0).append("\">\n");
+        xml.append("      <property name=\"code\" type=\"string\" column=\"CODE\" length=\"40\"/>\n");
+        xml.append("    </natural-id>\n");
+
+        xml.append("    <version name=\"version\" type=\"integer\"><column name=\"VERSION\"/></version>\n");
+
+        for (int p = 0; p < settings.getProperties(); p++) {
+            appendProperty(xml, "    ", rootClass.propertyName(p), p);
+        }
+
+        if (rootClass.index % 2 == 0) {
+            xml.append("    <properties name=\"UK_").append(table).append("_NAME\" unique=\"true\">\n");
+            xml.append("      <property name=\"firstName\" type=\"string\" column=\"FIRST_NAME\"/>\n");
+            xml.append("      <property name=\"lastName\" type=\"string\" column=\"LAST_NAME\"/>\n");
+            xml.append("    </properties>\n");
+        }
+
+        for (int i = 0; i < rootClass.manyToOnes.size(); i++) {
+            appendManyToOne(xml, rootClass, rootClass.manyToOnes.get(i), i);
+        }
+        for (final RootClass owner : rootClass.backReferences) {
+            xml.append("    <many-to-one name=\"").append(Utils.uncapitalize(owner.name)).append("\" class=\"")
+                    .append(fullName(owner.name)).append("\" column=\"").append(table(owner.name))
+                    .append("_ID\" not-null=\"true\"/>\n");
+        }
+        if (rootClass.index % 3 == 2 && !rootClass.manyToOnes.isEmpty()) {
+            final RootClass target = rootClass.manyToOnes.get(0);
+            xml.append("    <one-to-one name=\"details\" class=\"").append(fullName(target.name))
+                    .append("\" constrained=\"true\" foreign-key=\"FK_").append(table).append("_DETAILS\"/>\n");
+        }
+
+        for (final CollectionMapping collection : rootClass.collections) {
+            appendCollection(xml, rootClass, collection);
+        }
+
+        for (int c = 0; c < settings.getComponents(); c++) {
+            xml.append("    <component name=\"").append(componentField(c)).append("\" class=\"")
+                    .append(fullName(componentClass(rootClass, c))).append("\">\n");
+            xml.append("      <property name=\"street\" type=\"string\" column=\"STREET_").append(c).append("\"/>\n");
+            xml.append("      <property name=\"city\" type=\"string\" column=\"CITY_").append(c).append("\"/>\n");
+            xml.append("    </component>\n");
+        }
+
+        if (rootClass.hasJoin()) {
+            xml.append("    <join table=\"").append(table).append("_EXT\">\n");
+            xml.append("      <key column=\"").append(table).append("_ID\"/>\n");
+            xml.append("      <property name=\"notes\" type=\"string\" column=\"NOTES\" length=\"2000\"/>\n");
+            xml.append("    </join>\n");
+        }
+
+        appendChildren(xml, rootClass, singleTable);
+
+        appendQueries(xml, name, table);
+
+        xml.append("  </class>\n");
+
+        // The deepest single table subclass is mapped apart, extending its parent
+        final ChildClass detached = rootClass.detachedChild();
+        if (detached != null) {
+            xml.append("  <subclass name=\"").append(detached.name).append("\" extends=\"")
+                    .append(fullName(detached.parent)).append("\" discriminator-value=\"L").append(detached.level)
+                    .append("\">\n");
+            appendChildProperties(xml, "    ", detached);
+            xml.append("  </subclass>\n");
+        }
+    }
+
+    private void appendId(final StringBuilder xml, final RootClass rootClass) {
+        xml.append("    <id name=\"id\" type=\"long\" column=\"ID\" unsaved-value=\"null\">\n");
+        xml.append("      <generator class=\"").append(rootClass.generator).append('"');
+        switch (rootClass.generator) {
+            case "sequence" -> xml.append("><param name=\"sequence\">SEQ_").append(table(rootClass.name))
+                    .append("</param></generator>\n");
+            case "seqhilo" -> xml.append("><param name=\"sequence\">SEQ_").append(table(rootClass.name))
+                    .append("</param><param name=\"max_lo\">100</param></generator>\n");
+            default -> xml.append("/>\n");
+        }
+        xml.append("    </id>\n");
+    }
+
+    private void appendProperty(final StringBuilder xml, final String indent, final String name, final int index) {
+        final String type = PROPERTY_TYPES[index % PROPERTY_TYPES.length][0];
+        final String column = name.toUpperCase();
+        switch (index % 5) {
+            case 0 -> xml.append(indent).append("<property name=\"").append(name).append("\" type=\"").append(type)
+                    .append("\" column=\"").append(column).append("\"/>\n");
+            case 1 -> {
+                xml.append(indent).append("<property name=\"").append(name).append("\" type=\"").append(type)
+                        .append("\" update=\"false\">\n");
+                xml.append(indent).append("  <column name=\"").append(column).append("\" not-null=\"true\"");
+                if ("big_decimal".equals(type) || "double".equals(type)) {
+                    xml.append(" precision=\"12\" scale=\"2\"");
+                }
+                xml.append(" unique-key=\"UK_").append(column).append("\"/>\n");
+                xml.append(indent).append("</property>\n");
+            }
+            case 2 -> {
+                xml.append(indent).append("<property name=\"").append(name).append("\" type=\"").append(type)
+                        .append("\" optimistic-lock=\"false\">\n");
+                xml.append(indent).append("  <column name=\"").append(column).append("\" index=\"IDX_")
+                        .append(column).append("\" sql-type=\"").append(sqlType(type)).append("\"/>\n");
+                xml.append(indent).append("</property>\n");
+            }
+            case 3 -> {
+                xml.append(indent).append("<property name=\"").append(name).append("\">\n");
+                xml.append(indent).append("  <column name=\"").append(column).append("\" length=\"10\" default=\"'")
+                        .append("ACTIVE'\"/>\n");
+                xml.append(indent).append("  <type name=\"org.hibernate.type.EnumType\"><param name=\"enumClass\">")
+                        .append(fullName(STATUS_ENUM)).append("</param><param name=\"type\">12</param></type>\n");
+                xml.append(indent).append("</property>\n");
+            }
+            default -> xml.append(indent).append("<property name=\"").append(name).append("\" type=\"").append(type)
+                    .append("\" column=\"").append(column).append("\" length=\"255\" lazy=\"true\"/>\n");
+        }
+    }
+
+    private void appendManyToOne(final StringBuilder xml, final RootClass rootClass, final RootClass target,
+            final int index) {
+        final String field = Utils.uncapitalize(target.name);
+        final String column = table(target.name) + "_ID";
+        xml.append("    <many-to-one name=\"").append(field).append("\" class=\"").append(fullName(target.name))
+                .append('"');
+        switch (index % 3) {
+            case 0 -> xml.append(" column=\"").append(column).append("\" foreign-key=\"FK_")
+                    .append(table(rootClass.name)).append('_').append(index).append("\" not-null=\"true\"/>\n");
+            case 1 -> xml.append(" fetch=\"join\" cascade=\"save-update\" update=\"false\">\n")
+                    .append("      <column name=\"").append(column).append("\" index=\"IDX_").append(column)
+                    .append("\"/>\n    </many-to-one>\n");
+            default -> xml.append(" column=\"").append(column).append("\" lazy=\"false\" unique=\"true\"/>\n");
+        }
+    }
+
+    private void appendCollection(final StringBuilder xml, final RootClass rootClass, final CollectionMapping collection) {
+        final String ownerColumn = table(rootClass.name) + "_ID";
+        final String targetClass = fullName(collection.target.name);
+        final String field = collectionField(collection);
+
+        switch (collection.tag) {
+            case "set" -> {
+                xml.append("    <set name=\"").append(field).append("\" inverse=\"true\" cascade=\"all-delete-orphan\"")
+                        .append(" lazy=\"true\" order-by=\"CODE asc\">\n");
+                xml.append("      <key column=\"").append(ownerColumn).append("\"/>\n");
+                xml.append("      <one-to-many class=\"").append(targetClass).append("\"/>\n");
+                xml.append("    </set>\n");
+            }
+            case "list" -> {
+                xml.append("    <list name=\"").append(field).append("\" cascade=\"all\" fetch=\"subselect\">\n");
+                xml.append("      <key column=\"").append(ownerColumn).append("\" foreign-key=\"FK_")
+                        .append(table(collection.target.name)).append("_OWNER\"/>\n");
+                xml.append("      <list-index column=\"IDX\"/>\n");
+                xml.append("      <one-to-many class=\"").append(targetClass).append("\"/>\n");
+                xml.append("    </list>\n");
+            }
+            case "bag" -> {
+                xml.append("    <bag name=\"").append(field).append("\" table=\"").append(table(rootClass.name))
+                        .append('_').append(table(collection.target.name)).append("\" lazy=\"false\">\n");
+                xml.append("      <key><column name=\"").append(ownerColumn).append("\" not-null=\"true\"/></key>\n");
+                xml.append("      <many-to-many class=\"").append(targetClass).append("\" column=\"")
+                        .append(table(collection.target.name)).append("_ID\"/>\n");
+                xml.append("    </bag>\n");
+            }
+            default -> {
+                xml.append("    <map name=\"").append(field).append("\" table=\"").append(table(rootClass.name))
+                        .append("_MAP\" cascade=\"all\">\n");
+                xml.append("      <key column=\"").append(ownerColumn).append("\"/>\n");
+                if (rootClass.index % 2 == 0) {
+                    xml.append("      <map-key type=\"string\" column=\"MAP_KEY\"/>\n");
+                    xml.append("      <many-to-many class=\"").append(targetClass).append("\" column=\"")
+                            .append(table(collection.target.name)).append("_ID\"/>\n");
+                } else {
+                    xml.append("      <composite-map-key class=\"").append(fullName(mapKeyClass(rootClass)))
+                            .append("\">\n");
+                    xml.append("        <key-property name=\"keyCode\" type=\"string\" column=\"KEY_CODE\"/>\n");
+                    xml.append("        <key-property name=\"keyRank\" type=\"integer\" column=\"KEY_RANK\"/>\n");
+                    xml.append("      </composite-map-key>\n");
+                    xml.append("      <one-to-many class=\"").append(targetClass).append("\"/>\n");
+                }
+                xml.append("    </map>\n");
+            }
+        }
+    }
+
+    private void appendChildren(final StringBuilder xml, final RootClass rootClass, final boolean singleTable) {
+        final ChildClass detached = rootClass.detachedChild();
+        final List<ChildClass> nested = new ArrayList<>(rootClass.children);
+        nested.remove(detached);
+        if (nested.isEmpty()) {
+            return;
+        }
+
+        // Subclasses are nested one inside the other, from the first level to the deepest one
+        final String tag = CorpusSettings.STRATEGY_UNION_SUBCLASS.equals(rootClass.strategy) ?
+                "union-subclass" : "subclass";
+        final StringBuilder closing = new StringBuilder();
+        String indent = "    ";
+        for (final ChildClass child : nested) {
+            xml.append(indent).append('<').append(tag).append(" name=\"").append(child.name).append('"');
+            if (singleTable) {
+                xml.append(" discriminator-value=\"L").append(child.level).append('"');
+            } else {
+                xml.append(" table=\"").append(table(child.name)).append('"');
+            }
+            xml.append(">\n");
+            appendChildProperties(xml, indent + "  ", child);
+            closing.insert(0, indent + "</" + tag + ">\n");
+            indent += "  ";
+        }
+        xml.append(closing);
+    }
+
+    private void appendChildProperties(final StringBuilder xml, final String indent, final ChildClass child) {
+        for (int p = 0; p < childProperties(); p++) {
+            appendProperty(xml, indent, child.propertyName(p), p);
+        }
+    }
+
+    private void appendQueries(final StringBuilder xml, final String name, final String table) {
+        for (int q = 0; q < settings.getQueries(); q++) {
+            xml.append("    <query name=\"").append(name).append(".findByCode").append(q).append("\">from ")
+                    .append(name).append(" e where e.code = :code</query>\n");
+            if (q % 2 == 0) {
+                xml.append("    <sql-query name=\"").append(name).append(".count").append(q)
+                        .append("\">select count(*) as total from ").append(table)
+                        .append("<return-scalar column=\"total\" type=\"long\"/></sql-query>\n");
+            }
+        }
+    }
+
+    private String queriesOnlyMapping() {
+        final StringBuilder xml = new StringBuilder();
+        appendMappingHeader(xml);
+        for (int q = 0; q < Math.max(1, settings.getQueries()) * 2; q++) {
+            final RootClass target = rootClasses.get(q % rootClasses.size());
+            xml.append("  <query name=\"").append(QUERIES_ENTITY).append(".findAll").append(q).append("\">from ")
+                    .append(target.name).append("</query>\n");
+        }
+        xml.append("  <sql-query name=\"").append(QUERIES_ENTITY).append(".now\">select current_timestamp as now")
+                .append(" from dual<return-scalar column=\"now\" type=\"timestamp\"/></sql-query>\n");
+        xml.append("</hibernate-mapping>\n");
+        return xml.toString();
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Java sources
+    // ------------------------------------------------------------------------------------------------------------
+
+    private void writeSources(final Path folder, final RootClass rootClass) throws IOException {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", "Long");
+        fields.put("version", "Integer");
+        fields.put("code", "String");
+        for (int p = 0; p < settings.getProperties(); p++) {
+            fields.put(rootClass.propertyName(p), javaType(p));
+        }
+        if (rootClass.index % 2 == 0) {
+            fields.put("firstName", "String");
+            fields.put("lastName", "String");
+        }
+        for (final RootClass target : rootClass.manyToOnes) {
+            fields.put(Utils.uncapitalize(target.name), target.name);
+        }
+        for (final RootClass owner : rootClass.backReferences) {
+            fields.put(Utils.uncapitalize(owner.name), owner.name);
+        }
+        if (rootClass.index % 3 == 2 && !rootClass.manyToOnes.isEmpty()) {
+            fields.put("details", rootClass.manyToOnes.get(0).name);
+        }
+        for (final CollectionMapping collection : rootClass.collections) {
+            final String target = collection.target.name;
+            fields.put(collectionField(collection), switch (collection.tag) {
+                case "set" -> "Set<" + target + ">";
+                case "list", "bag" -> "List<" + target + ">";
+                default -> "Map<" + (rootClass.index % 2 == 0 ? "String" : mapKeyClass(rootClass)) + ", " +
+                        target + ">";
+            });
+            if ("map".equals(collection.tag) && rootClass.index % 2 == 1) {
+                final Map<String, String> keyFields = new LinkedHashMap<>();
+                keyFields.put("keyCode", "String");
+                keyFields.put("keyRank", "Integer");
+                writeSource(folder, mapKeyClass(rootClass), javaClass(mapKeyClass(rootClass), null, keyFields, true));
+            }
+        }
+        for (int c = 0; c < settings.getComponents(); c++) {
+            fields.put(componentField(c), componentClass(rootClass, c));
+
+            final Map<String, String> componentFields = new LinkedHashMap<>();
+            componentFields.put("street", "String");
+            componentFields.put("city", "String");
+            writeSource(folder, componentClass(rootClass, c),
+                    javaClass(componentClass(rootClass, c), null, componentFields, true));
+        }
+        if (rootClass.hasJoin()) {
+            fields.put("notes", "String");
+        }
+
+        // Some classes have no default constructor, as in real code bases
+        writeSource(folder, rootClass.name, javaClass(rootClass.name, null, fields, rootClass.index % 4 != 3));
+
+        for (final ChildClass child : rootClass.children) {
+            final Map<String, String> childFields = new LinkedHashMap<>();
+            for (int p = 0; p < childProperties(); p++) {
+                childFields.put(child.propertyName(p), javaType(p));
+            }
+            writeSource(folder, child.name, javaClass(child.name, child.parent, childFields, true));
+        }
+    }
+
+    private String javaClass(final String name, final String parent, final Map<String, String> fields,
+            final boolean defaultConstructor) {
+        final StringBuilder java = new StringBuilder();
+        java.append("import java.math.BigDecimal;\n");
+        java.append("import java.util.Date;\n");
+        java.append("import java.util.List;\n");
+        java.append("import java.util.Map;\n");
+        java.append("import java.util.Set;\n\n");
+
+        java.append("public class ").append(name);
+        if (parent != null) {
+            java.append(" extends ").append(parent);
+        }
+        java.append(" implements java.io.Serializable {\n\n");
+        java.append("    private static final long serialVersionUID = 1L;\n\n");
+
+        for (final Map.Entry<String, String> field : fields.entrySet()) {
+            java.append("    private ").append(field.getValue()).append(' ').append(field.getKey()).append(";\n");
+        }
+        java.append('\n');
+
+        if (defaultConstructor) {
+            java.append("    public ").append(name).append("() {\n    }\n\n");
+        } else if (!fields.isEmpty()) {
+            final Map.Entry<String, String> first = fields.entrySet().iterator().next();
+            java.append("    public ").append(name).append('(').append(first.getValue()).append(' ')
+                    .append(first.getKey()).append(") {\n        this.").append(first.getKey()).append(" = ")
+                    .append(first.getKey()).append(";\n    }\n\n");
+        }
+
+        for (final Map.Entry<String, String> field : fields.entrySet()) {
+            final String accessor = Utils.capitalize(field.getKey());
+            java.append("    public ").append(field.getValue()).append(" get").append(accessor).append("() {\n");
+            java.append("        return ").append(field.getKey()).append(";\n    }\n\n");
+            java.append("    public void set").append(accessor).append('(').append(field.getValue()).append(' ')
+                    .append(field.getKey()).append(") {\n");
+            java.append("        this.").append(field.getKey()).append(" = ").append(field.getKey())
+                    .append(";\n    }\n\n");
+        }
+
+        java.append("}\n");
+        return java.toString();
+    }
+
+    private void writeSource(final Path folder, final String className, final String body) throws IOException {
+        Files.writeString(folder.resolve(className + ".java"),
+                "package " + settings.getPackageName() + ";\n\n" + body);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Naming
+    // ------------------------------------------------------------------------------------------------------------
+
+    private int childProperties() {
+        return Math.max(1, settings.getProperties() / 3);
+    }
+
+    private String fullName(final String className) {
+        return settings.getPackageName() + "." + className;
+    }
+
+    private static String table(final String className) {
+        return "T_" + className.toUpperCase();
+    }
+
+    private static String javaType(final int propertyIndex) {
+        // Enum typed properties (see appendProperty)
+        if (propertyIndex % 5 == 3) {
+            return STATUS_ENUM;
+        }
+        return PROPERTY_TYPES[propertyIndex % PROPERTY_TYPES.length][1];
+    }
+
+    private static String sqlType(final String type) {
+        return switch (type) {
+            case "string" -> "VARCHAR(100)";
+            case "big_decimal", "double" -> "DECIMAL(12,2)";
+            case "timestamp" -> "TIMESTAMP";
+            case "boolean" -> "CHAR(1)";
+            default -> "NUMBER(19)";
+        };
+    }
+
+    private static String collectionField(final CollectionMapping collection) {
+        return Utils.uncapitalize(collection.target.name) + Utils.capitalize(collection.tag);
+    }
+
+    private static String componentField(final int index) {
+        return "address" + index;
+    }
+
+    private static String componentClass(final RootClass rootClass, final int index) {
+        return rootClass.name + "Address" + index;
+    }
+
+    private static String mapKeyClass(final RootClass rootClass) {
+        return rootClass.name + "Key";
+    }
+
+    private static final class RootClass {
+        private final String name;
+        private final int index;
+        private String strategy;
+        private String generator;
+        private final List<ChildClass> children = new ArrayList<>();
+        private final List<RootClass> manyToOnes = new ArrayList<>();
+        private final List<RootClass> backReferences = new ArrayList<>();
+        private final List<CollectionMapping> collections = new ArrayList<>();
+        // Names of the classes already referenced by a field, so each type appears once (mappedBy is found by type)
+        private final Set<String> referenced = new HashSet<>();
+
+        private RootClass(final String name, final int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        private String propertyName(final int index) {
+            return "prop" + index;
+        }
+
+        private boolean hasJoin() {
+            return index % 4 == 0 && !CorpusSettings.STRATEGY_UNION_SUBCLASS.equals(strategy);
+        }
+
+        /**
+         * @return the deepest subclass when it's mapped apart (single table hierarchies of 2 levels or more), or null
+         */
+        private ChildClass detachedChild() {
+            if (CorpusSettings.STRATEGY_SUBCLASS.equals(strategy) && children.size() >= 2) {
+                return children.get(children.size() - 1);
+            }
+            return null;
+        }
+    }
+
+    private static final class ChildClass {
+        private final String name;
+        private final int level;
+        private final String parent;
+
+        private ChildClass(final String name, final int level, final String parent) {
+            this.name = name;
+            this.level = level;
+            this.parent = parent;
+        }
+
+        private String propertyName(final int index) {
+            return "l" + level + "Prop" + index;
+        }
+    }
+
+    private record CollectionMapping(String tag, RootClass target) {
+    }
+}
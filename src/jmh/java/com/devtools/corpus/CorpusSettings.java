@@ -0,0 +1,48 @@
+package com.devtools.corpus;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Shape of a synthetic corpus generated by {@link CorpusGenerator}.
+ */
+@Getter
+@Setter
+public class CorpusSettings {
+
+    public static final String STRATEGY_SUBCLASS = "subclass";
+    public static final String STRATEGY_UNION_SUBCLASS = "union-subclass";
+    public static final String STRATEGY_JOINED = "joined";
+
+    private long seed = 42;
+    private String packageName = "com.devtools.corpus.model";
+
+    // Number of mapping files, and of root classes (each one with its own hierarchy) mapped in each file
+    private int files = 10;
+    private int classesPerFile = 5;
+
+    private int properties = 10;
+    private int inheritanceDepth = 2;
+    private List<String> strategies = List.of(STRATEGY_SUBCLASS, STRATEGY_UNION_SUBCLASS, STRATEGY_JOINED);
+
+    // Per root class: many-to-one relationships, collections, components and named queries
+    private int relationships = 2;
+    private int collections = 2;
+    private int components = 1;
+    private int queries = 1;
+
+    public void setStrategies(final List<String> strategies) {
+        for (final String strategy : strategies) {
+            if (!STRATEGY_SUBCLASS.equals(strategy) && !STRATEGY_UNION_SUBCLASS.equals(strategy) &&
+                    !STRATEGY_JOINED.equals(strategy)) {
+                throw new IllegalArgumentException("Unknown inheritance strategy: " + strategy);
+            }
+        }
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one inheritance strategy is required");
+        }
+        this.strategies = List.copyOf(strategies);
+    }
+}
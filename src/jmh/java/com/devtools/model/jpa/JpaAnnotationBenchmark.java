@@ -0,0 +1,69 @@
+package com.devtools.model.jpa;
+
+import static com.devtools.model.jpa.JpaAnnotation.annotation;
+import static com.devtools.model.jpa.JpaAnnotation.array;
+import static com.devtools.model.jpa.JpaAnnotation.enumConstant;
+import static com.devtools.model.jpa.JpaAnnotation.literal;
+import static com.devtools.model.jpa.JpaAnnotation.string;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the rendering of an annotation as source code and of the collection of its imports, done for every
+ * annotation added to the entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JpaAnnotationBenchmark {
+
+    public enum Kind { COLUMN, INHERITANCE, TYPE }
+
+    @Param({"COLUMN", "INHERITANCE", "TYPE"})
+    private Kind kind;
+
+    private JpaAnnotation annotation;
+
+    @Setup
+    public void setUp() {
+        annotation = switch (kind) {
+            case COLUMN -> new JpaAnnotation("javax.persistence.Column")
+                    .addMember("name", string("CODE"))
+                    .addMember("nullable", literal(false))
+                    .addMember("length", literal(20));
+            case INHERITANCE -> new JpaAnnotation("javax.persistence.Inheritance")
+                    .addMember("strategy", enumConstant("javax.persistence.InheritanceType", "SINGLE_TABLE"));
+            case TYPE -> new JpaAnnotation("org.hibernate.annotations.Type")
+                    .addMember("type", string("org.hibernate.type.EnumType"))
+                    .addMember("parameters", array(annotation(new JpaAnnotation("org.hibernate.annotations.Parameter")
+                            .addMember("name", string("enumClass"))
+                            .addMember("value", string("com.acme.model.Status")))));
+        };
+    }
+
+    @Benchmark
+    public String toSource() {
+        return annotation.toSource("    ");
+    }
+
+    @Benchmark
+    public Set<String> getImports() {
+        return annotation.getImports();
+    }
+}
@@ -0,0 +1,133 @@
+package com.devtools.processing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.devtools.model.jpa.JpaAbstract;
+import com.devtools.model.jpa.JpaAnnotation;
+import com.devtools.model.jpa.JpaEntity;
+import com.devtools.utils.JavaParserUtils;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
+
+/**
+ * Throughput of the annotation of the fields of all the entities of a mapping file, comparing the ways of getting
+ * the annotation nodes:
+ * <ul>
+ *   <li>{@code parsed}: the annotation source is parsed inside a dummy class, as done before the typed annotations</li>
+ *   <li>{@code addAnnotations}: {@link JavaParserUtils#addAnnotations(List, NodeWithAnnotations)}, building the
+ *   nodes from the typed annotations</li>
+ *   <li>{@code clonedTemplates}: the nodes are built once per distinct annotation and cloned for every field,
+ *   as a memoizing cache would do</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddAnnotationsBenchmark {
+
+    @Param({"SMALL", "MEDIUM"})
+    private BenchmarkMappings.Size size;
+
+    private Path folder;
+    private final List<List<JpaAnnotation>> fieldAnnotations = new ArrayList<>();
+    private final List<List<String>> fieldAnnotationSources = new ArrayList<>();
+    private final Map<JpaAnnotation, AnnotationExpr> templates = new HashMap<>();
+    private final JavaParser javaParser = new JavaParser(
+            new ParserConfiguration().setLanguageLevel(JavaParserUtils.LANGUAGE_LEVEL));
+
+    @Setup
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("hbm2java-bench");
+        final Map<String, JpaEntity> entities =
+                BenchmarkMappings.parseAndConfigure(BenchmarkMappings.writeMapping(folder, size).toString());
+
+        final AnnotationBuilder annotationBuilder = BenchmarkMappings.newAnnotationBuilder(folder);
+        for (final JpaEntity entity : entities.values()) {
+            annotationBuilder.build(entity);
+
+            final List<JpaAbstract> fields = new ArrayList<>();
+            if (entity.getPrimaryKey() != null) {
+                fields.add(entity.getPrimaryKey());
+            }
+            fields.addAll(entity.getColumns());
+            fields.addAll(entity.getCompositeColumns());
+            fields.addAll(entity.getRelationships());
+            for (final JpaAbstract field : fields) {
+                fieldAnnotations.add(field.getAnnotations());
+                fieldAnnotationSources.add(field.getAnnotations().stream().map(JpaAnnotation::toString).toList());
+                field.getAnnotations().forEach(annotation ->
+                        templates.computeIfAbsent(annotation, JavaParserUtils::toAnnotationExpr));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkMappings.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public void parsed(final Blackhole blackhole) {
+        for (final List<String> annotations : fieldAnnotationSources) {
+            final FieldDeclaration field = new FieldDeclaration();
+            for (final String annotation : annotations) {
+                addIfAbsent(javaParser.parse(annotation + "\npublic class Dummy {}").getResult().orElseThrow()
+                        .getType(0).getAnnotation(0), field);
+            }
+            blackhole.consume(field);
+        }
+    }
+
+    @Benchmark
+    public void addAnnotations(final Blackhole blackhole) {
+        for (final List<JpaAnnotation> annotations : fieldAnnotations) {
+            final FieldDeclaration field = new FieldDeclaration();
+            JavaParserUtils.addAnnotations(annotations, field);
+            blackhole.consume(field);
+        }
+    }
+
+    @Benchmark
+    public void clonedTemplates(final Blackhole blackhole) {
+        for (final List<JpaAnnotation> annotations : fieldAnnotations) {
+            final FieldDeclaration field = new FieldDeclaration();
+            for (final JpaAnnotation annotation : annotations) {
+                addIfAbsent(templates.get(annotation).clone(), field);
+            }
+            blackhole.consume(field);
+        }
+    }
+
+    private static void addIfAbsent(final AnnotationExpr annotation, final FieldDeclaration field) {
+        final String annotationName = annotation.getNameAsString();
+        if (field.getAnnotations().stream().noneMatch(a -> a.getNameAsString().equals(annotationName))) {
+            field.addAnnotation(annotation);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.devtools.processing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.devtools.model.jpa.JpaEntity;
+
+/**
+ * Throughput of {@link AnnotationBuilder#build(JpaEntity)} on all the entities of a mapping file.
+ *
+ * <p>Building the annotations changes the entities, so they are parsed again (out of the measurement) before
+ * each invocation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnotationBuilderBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    private BenchmarkMappings.Size size;
+
+    private Path folder;
+    private String mappingFile;
+    private AnnotationBuilder annotationBuilder;
+    private Map<String, JpaEntity> entities;
+
+    @Setup
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("hbm2java-bench");
+        mappingFile = BenchmarkMappings.writeMapping(folder, size).toString();
+        annotationBuilder = BenchmarkMappings.newAnnotationBuilder(folder);
+    }
+
+    @Setup(Level.Invocation)
+    public void parseEntities() throws Exception {
+        entities = BenchmarkMappings.parseAndConfigure(mappingFile);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkMappings.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public void build(final Blackhole blackhole) {
+        for (final JpaEntity entity : entities.values()) {
+            annotationBuilder.build(entity);
+            blackhole.consume(entity);
+        }
+    }
+}
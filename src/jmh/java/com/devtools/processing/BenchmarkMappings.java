@@ -0,0 +1,148 @@
+package com.devtools.processing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import com.devtools.model.jpa.JpaEntity;
+import com.devtools.utils.SourceIndex;
+
+/**
+ * HBM mapping files of different sizes used as input by the benchmarks.
+ */
+public final class BenchmarkMappings {
+
+    /**
+     * Size of a mapping file: number of classes mapped and number of properties per class.
+     */
+    public enum Size {
+        SMALL(1, 10),
+        MEDIUM(20, 30),
+        HUGE(300, 60);
+
+        private final int classes;
+        private final int properties;
+
+        Size(final int classes, final int properties) {
+            this.classes = classes;
+            this.properties = properties;
+        }
+    }
+
+    private static final String PACKAGE_NAME = "com.devtools.bench";
+
+    private BenchmarkMappings() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Writes a mapping file of the given size in the folder.
+     *
+     * @return the path of the mapping file
+     */
+    static Path writeMapping(final Path folder, final Size size) throws IOException {
+        final StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\"?>\n");
+        xml.append("<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" ")
+                .append("\"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">\n");
+        xml.append("<hibernate-mapping package=\"").append(PACKAGE_NAME).append("\" default-cascade=\"none\">\n");
+
+        for (int c = 0; c < size.classes; c++) {
+            appendClass(xml, c, size.properties);
+        }
+
+        xml.append("</hibernate-mapping>\n");
+
+        final Path file = folder.resolve("Bench" + size.name() + ".hbm.xml");
+        Files.writeString(file, xml);
+        return file;
+    }
+
+    /**
+     * Parses a mapping file and configures its entities, as the conversion does before building the annotations.
+     *
+     * @return the entities by simple name
+     */
+    static Map<String, JpaEntity> parseAndConfigure(final String mappingFile) throws Exception {
+        final Map<String, JpaEntity> entities = new TreeMap<>();
+        final List<JpaEntity> parsed = new HbmParser().parse(mappingFile);
+        parsed.forEach(entity -> entities.put(entity.getSimpleName(), entity));
+        new ConversionProcessor().configureEntities(entities);
+        return entities;
+    }
+
+    static AnnotationBuilder newAnnotationBuilder(final Path folder) {
+        final String sourceFolder = folder.toString();
+        return new AnnotationBuilder(new FieldTypeIndex(new CompilationUnitCache(sourceFolder,
+                SourceIndex.build(sourceFolder), new ConversionReport())));
+    }
+
+    static void deleteFolder(final Path folder) throws IOException {
+        try (final Stream<Path> paths = Files.walk(folder)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void appendClass(final StringBuilder xml, final int index, final int properties) {
+        final String name = "Entity" + index;
+        xml.append("  <class name=\"").append(name).append("\" table=\"ENTITY_").append(index)
+                .append("\" dynamic-update=\"true\">\n");
+        xml.append("    <cache usage=\"read-write\"/>\n");
+        xml.append("    <id name=\"id\" type=\"long\" column=\"ID\">\n");
+        xml.append("      <generator class=\"sequence\"><param name=\"sequence\">SEQ_").append(index)
+                .append("</param></generator>\n");
+        xml.append("    </id>\n");
+        xml.append("    <natural-id mutable=\"false\">\n");
+        xml.append("      <property name=\"code\" type=\"string\" column=\"CODE\" length=\"20\"/>\n");
+        xml.append("    </natural-id>\n");
+        xml.append("    <version name=\"version\" type=\"integer\"><column name=\"VERSION\"/></version>\n");
+
+        for (int p = 0; p < properties; p++) {
+            switch (p % 3) {
+                case 0:
+                    xml.append("    <property name=\"prop").append(p).append("\" type=\"string\" column=\"PROP_")
+                            .append(p).append("\" length=\"50\"/>\n");
+                    break;
+                case 1:
+                    xml.append("    <property name=\"prop").append(p).append("\" type=\"big_decimal\">\n");
+                    xml.append("      <column name=\"PROP_").append(p)
+                            .append("\" precision=\"10\" scale=\"2\" not-null=\"true\"/>\n");
+                    xml.append("    </property>\n");
+                    break;
+                default:
+                    xml.append("    <property name=\"prop").append(p).append("\">\n");
+                    xml.append("      <column name=\"PROP_").append(p).append("\" index=\"IDX_").append(index)
+                            .append('_').append(p).append("\"/>\n");
+                    xml.append("      <type name=\"org.hibernate.type.EnumType\"><param name=\"enumClass\">")
+                            .append(PACKAGE_NAME).append(".Status</param></type>\n");
+                    xml.append("    </property>\n");
+                    break;
+            }
+        }
+
+        if (index > 0) {
+            final String parent = "Entity" + (index - 1);
+            xml.append("    <many-to-one name=\"parent\" class=\"").append(PACKAGE_NAME).append('.').append(parent)
+                    .append("\" column=\"PARENT_ID\" foreign-key=\"FK_").append(index).append("_PARENT\"/>\n");
+        }
+        xml.append("    <set name=\"children\" inverse=\"true\" cascade=\"all-delete-orphan\" lazy=\"true\">\n");
+        xml.append("      <key column=\"PARENT_ID\"/>\n");
+        xml.append("      <one-to-many class=\"").append(PACKAGE_NAME).append(".Entity").append(index + 1)
+                .append("\"/>\n");
+        xml.append("    </set>\n");
+        xml.append("    <component name=\"address\" class=\"").append(PACKAGE_NAME).append(".Address\">\n");
+        xml.append("      <property name=\"street\" column=\"STREET\"/>\n");
+        xml.append("      <property name=\"city\" column=\"CITY\"/>\n");
+        xml.append("    </component>\n");
+        xml.append("    <query name=\"").append(name).append(".findByCode\">from ").append(name)
+                .append(" e where e.code = :code</query>\n");
+        xml.append("  </class>\n");
+    }
+}
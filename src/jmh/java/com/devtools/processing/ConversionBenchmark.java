@@ -0,0 +1,74 @@
+package com.devtools.processing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devtools.corpus.CorpusGenerator;
+import com.devtools.corpus.CorpusSettings;
+
+/**
+ * Time of a whole conversion of a synthetic corpus (see {@link CorpusGenerator}), in both modes.
+ *
+ * <p>The conversion changes its output folder, so a fresh corpus is generated (out of the measurement) before each
+ * iteration, and each iteration runs the conversion once.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"10", "100"})
+    private int files;
+
+    @Param({"false", "true"})
+    private boolean annotateExisting;
+
+    private Path folder;
+    private ConversionOptions options;
+
+    @Setup
+    public void setUp() {
+        options = new ConversionOptions();
+        options.setAnnotateExisting(annotateExisting);
+    }
+
+    @Setup(Level.Iteration)
+    public void generateCorpus() throws Exception {
+        folder = Files.createTempDirectory("hbm2java-corpus");
+
+        final CorpusSettings settings = new CorpusSettings();
+        settings.setFiles(files);
+        new CorpusGenerator(settings).generate(folder);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCorpus() throws Exception {
+        BenchmarkMappings.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public void convert() {
+        final String inputFolder = folder.resolve(CorpusGenerator.HBM_FOLDER).toString();
+        final String outputFolder = folder.resolve(annotateExisting ?
+                CorpusGenerator.SOURCES_FOLDER : "generated").toString();
+        new ConversionProcessor().processConversion(inputFolder, outputFolder, options);
+    }
+}
@@ -0,0 +1,66 @@
+package com.devtools.processing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.devtools.model.jpa.JpaEntity;
+
+/**
+ * Throughput of {@link EntityGenerator#generate(JpaEntity, String)} on all the entities of a mapping file,
+ * writing the sources to a null sink so the file system isn't measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityGeneratorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    private BenchmarkMappings.Size size;
+
+    private Path folder;
+    private Map<String, JpaEntity> entities;
+
+    @Setup
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("hbm2java-bench");
+        entities = BenchmarkMappings.parseAndConfigure(BenchmarkMappings.writeMapping(folder, size).toString());
+
+        final AnnotationBuilder annotationBuilder = BenchmarkMappings.newAnnotationBuilder(folder);
+        entities.values().forEach(annotationBuilder::build);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkMappings.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public void generate(final Blackhole blackhole) throws Exception {
+        final EntityGenerator entityGenerator = new EntityGenerator((fileName, content, headerLength) -> {
+            blackhole.consume(content);
+            return true;
+        });
+        for (final JpaEntity entity : entities.values()) {
+            entityGenerator.generate(entity, folder.toString());
+        }
+    }
+}
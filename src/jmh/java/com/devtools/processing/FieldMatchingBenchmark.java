@@ -0,0 +1,93 @@
+package com.devtools.processing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.devtools.model.jpa.JpaAbstract;
+import com.devtools.model.jpa.JpaColumn;
+import com.devtools.model.jpa.JpaEntity;
+import com.devtools.utils.JavaParserUtils;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+
+/**
+ * Throughput of the matching of the fields of a class with the mapped fields of its entity, done by the
+ * {@link AnnotationApplier} for every annotated class:
+ * <ul>
+ *   <li>{@code scan}: every mapped field is compared with each field of the class, as done before the name index</li>
+ *   <li>{@code nameIndex}: the mapped fields are looked up by name in {@link PendingFields}, built once per
+ *   entity</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldMatchingBenchmark {
+
+    @Param({"50", "500"})
+    private int fields;
+
+    private JpaEntity entity;
+    private List<JpaAbstract> allFields;
+    private List<FieldDeclaration> fieldDeclarations;
+
+    @Setup
+    public void setUp() {
+        entity = new JpaEntity();
+        entity.setName("com.devtools.bench.Wide");
+        final StringBuilder source = new StringBuilder("package com.devtools.bench;\n\npublic class Wide {\n");
+        for (int i = 0; i < fields; i++) {
+            final JpaColumn column = new JpaColumn();
+            column.setName("field" + i);
+            column.setColumnName("FIELD_" + i);
+            entity.addColumn(column);
+            source.append("    private String field").append(i).append(";\n");
+        }
+        source.append("}\n");
+
+        allFields = new ArrayList<>(entity.getColumns());
+        fieldDeclarations = new JavaParser(new ParserConfiguration().setLanguageLevel(JavaParserUtils.LANGUAGE_LEVEL))
+                .parse(source.toString()).getResult().orElseThrow().findAll(FieldDeclaration.class);
+    }
+
+    @Benchmark
+    public void scan(final Blackhole blackhole) {
+        for (final FieldDeclaration field : fieldDeclarations) {
+            for (final VariableDeclarator variable : field.getVariables()) {
+                allFields.stream()
+                        .filter(jpaElement -> !jpaElement.isProcessed() && jpaElement.getName() != null &&
+                                              jpaElement.getName().equals(variable.getNameAsString()))
+                        .forEach(blackhole::consume);
+            }
+        }
+    }
+
+    @Benchmark
+    public void nameIndex(final Blackhole blackhole) {
+        final PendingFields pendingFields = new PendingFields(entity);
+        for (final FieldDeclaration field : fieldDeclarations) {
+            for (final VariableDeclarator variable : field.getVariables()) {
+                pendingFields.getPending(variable.getNameAsString()).forEach(blackhole::consume);
+            }
+        }
+    }
+}
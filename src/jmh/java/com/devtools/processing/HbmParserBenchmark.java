@@ -0,0 +1,60 @@
+package com.devtools.processing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devtools.model.jpa.JpaEntity;
+
+/**
+ * Throughput of {@link HbmParser#parse(String)} on a mapping file, for each size and backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HbmParserBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    private BenchmarkMappings.Size size;
+
+    @Param({"DOM", "STAX"})
+    private HbmParser.Backend backend;
+
+    private Path folder;
+    private String mappingFile;
+    private HbmParser hbmParser;
+
+    @Setup
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("hbm2java-bench");
+        mappingFile = BenchmarkMappings.writeMapping(folder, size).toString();
+        hbmParser = new HbmParser(backend);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkMappings.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public List<JpaEntity> parse() throws Exception {
+        return hbmParser.parse(mappingFile);
+    }
+}
@@ -4,7 +4,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.devtools.processing.ConversionOptions;
 import com.devtools.processing.ConversionProcessor;
+import com.devtools.processing.ConversionWatcher;
+import com.devtools.processing.HbmParser;
 
 /**
  * The {@code Hbm2Java} class serves as the main entry point for converting Hibernate HBM XML files 
@@ -19,13 +22,22 @@ import com.devtools.processing.ConversionProcessor;
  *
  * <p>Usage:</p>
  * <pre>
- *   java Hbm2Java /path/to/inputFolder /path/to/baseOutputFolder [--annotateExisting]
+ *   java Hbm2Java /path/to/inputFolder /path/to/baseOutputFolder [--annotateExisting] [--threads N]
+ *       [--parser dom|stax] [--report report.json] [--full] [--watch]
  * </pre>
  * <p>Where:</p>
  * <ul>
  *   <li>{@code inputFolder} - Directory containing Hibernate {@code *.hbm.xml} files</li>
  *   <li>{@code baseOutputFolder} - Target directory for generated files or base search folder for existing files</li>
  *   <li>{@code --annotateExisting} - Optional flag to annotate existing Java files instead of generating new ones</li>
+ *   <li>{@code --threads N} - Optional number of threads used to parse the HBM files and to
+ *   generate or annotate the entities (default 1)</li>
+ *   <li>{@code --parser dom|stax} - Optional way of reading the HBM files: DOM (default) or streamed with StAX</li>
+ *   <li>{@code --report path} - Optional JSON file where the timings and counters of the run are written</li>
+ *   <li>{@code --full} - Optional flag to convert everything again, instead of only what changed since the
+ *   previous run</li>
+ *   <li>{@code --watch} - Optional flag to keep converting the HBM files as they change, until the process is
+ *   stopped</li>
  * </ul>
  *
  * <p>The conversion process is handled by {@link ConversionProcessor}, which orchestrates
@@ -40,9 +52,13 @@ public class Hbm2Java {
     
     // Constants
     private static final String ANNOTATE_EXISTING_FLAG = "--annotateExisting";
+    private static final String THREADS_OPTION = "--threads";
+    private static final String PARSER_OPTION = "--parser";
+    private static final String REPORT_OPTION = "--report";
+    private static final String FULL_FLAG = "--full";
+    private static final String WATCH_FLAG = "--watch";
     private static final String HBM_FILE_EXTENSION = ".hbm.xml";
     private static final int MIN_REQUIRED_ARGS = 2;
-    private static final int MAX_ARGS = 3;
 
     public static void main(final String[] args) {
         try {
@@ -50,15 +66,31 @@ public class Hbm2Java {
             
             final String inputFolder = args[0];
             final String outputFolder = args[1];
-            final boolean annotateExisting = args.length > 2 && ANNOTATE_EXISTING_FLAG.equals(args[2]);
+            final ConversionOptions options = parseOptions(args);
 
             LOG.info("Starting HBM to Java conversion...");
             LOG.info("Input folder: " + inputFolder);
             LOG.info("Output folder: " + outputFolder);
-            LOG.info("Mode: " + (annotateExisting ? "Annotate existing files" : "Generate new files"));
+            LOG.info("Mode: " + (options.isAnnotateExisting() ? "Annotate existing files" : "Generate new files"));
+            if (options.getThreads() > 1) {
+                LOG.info("Threads: " + options.getThreads());
+            }
+            if (options.getParserBackend() != HbmParser.Backend.DOM) {
+                LOG.info("Parser: " + options.getParserBackend());
+            }
+            if (options.getReportPath() != null) {
+                LOG.info("Report: " + options.getReportPath());
+            }
+            if (options.isFull()) {
+                LOG.info("Full conversion");
+            }
 
             final ConversionProcessor processor = new ConversionProcessor();
-            processor.processConversion(inputFolder, outputFolder, annotateExisting);
+            if (options.isWatch()) {
+                new ConversionWatcher(processor, inputFolder, outputFolder, options).watch();
+            } else {
+                processor.processConversion(inputFolder, outputFolder, options);
+            }
             
             LOG.info("HBM to Java conversion completed successfully.");
             
@@ -73,8 +105,8 @@ public class Hbm2Java {
     }
 
     private static void validateArguments(final String[] args) {
-        if (args == null || args.length < MIN_REQUIRED_ARGS || args.length > MAX_ARGS) {
-            throw new IllegalArgumentException("Invalid number of arguments. Expected 2-3 arguments, got: " + 
+        if (args == null || args.length < MIN_REQUIRED_ARGS) {
+            throw new IllegalArgumentException("Invalid number of arguments. Expected at least 2 arguments, got: " + 
                 (args == null ? 0 : args.length));
         }
 
@@ -85,18 +117,77 @@ public class Hbm2Java {
         if (StringUtils.isBlank(args[1])) {
             throw new IllegalArgumentException("Output folder cannot be empty");
         }
+    }
+
+    private static ConversionOptions parseOptions(final String[] args) {
+        final ConversionOptions options = new ConversionOptions();
+
+        for (int i = MIN_REQUIRED_ARGS; i < args.length; i++) {
+            final String arg = args[i];
+            if (ANNOTATE_EXISTING_FLAG.equals(arg)) {
+                options.setAnnotateExisting(true);
+            } else if (THREADS_OPTION.equals(arg)) {
+                options.setThreads(parsePositiveInt(THREADS_OPTION, getOptionValue(args, ++i, THREADS_OPTION)));
+            } else if (PARSER_OPTION.equals(arg)) {
+                options.setParserBackend(parseParserBackend(getOptionValue(args, ++i, PARSER_OPTION)));
+            } else if (REPORT_OPTION.equals(arg)) {
+                options.setReportPath(getOptionValue(args, ++i, REPORT_OPTION));
+            } else if (FULL_FLAG.equals(arg)) {
+                options.setFull(true);
+            } else if (WATCH_FLAG.equals(arg)) {
+                options.setWatch(true);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
 
-        if (args.length == MAX_ARGS && !ANNOTATE_EXISTING_FLAG.equals(args[2])) {
-            throw new IllegalArgumentException("Invalid third argument. Expected '" + ANNOTATE_EXISTING_FLAG + 
-                "' but got: " + args[2]);
+        return options;
+    }
+
+    private static String getOptionValue(final String[] args, final int index, final String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for option '" + option + "'");
+        }
+        return args[index];
+    }
+
+    private static HbmParser.Backend parseParserBackend(final String value) {
+        for (final HbmParser.Backend backend : HbmParser.Backend.values()) {
+            if (backend.name().equalsIgnoreCase(value.trim())) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Option '" + PARSER_OPTION + "' must be 'dom' or 'stax', got: " + value);
+    }
+
+    private static int parsePositiveInt(final String option, final String value) {
+        try {
+            final int result = Integer.parseInt(value.trim());
+            if (result < 1) {
+                throw new IllegalArgumentException("Option '" + option + "' must be a positive integer, got: " + value);
+            }
+            return result;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Option '" + option + "' must be a positive integer, got: " + value);
         }
     }
 
     private static void printUsage() {
-        System.err.println("Usage: java Hbm2Java <inputFolder> <outputFolder> [" + ANNOTATE_EXISTING_FLAG + "]");
+        System.err.println("Usage: java Hbm2Java <inputFolder> <outputFolder> [" + ANNOTATE_EXISTING_FLAG + "] [" +
+            THREADS_OPTION + " N] [" + PARSER_OPTION + " dom|stax] [" + REPORT_OPTION + " path] [" + FULL_FLAG + "] [" + WATCH_FLAG + "]");
         System.err.println("  inputFolder: Directory containing *" + HBM_FILE_EXTENSION + " files");
         System.err.println("  outputFolder: Directory for output (base search folder when annotating existing files)");
         System.err.println("  " + ANNOTATE_EXISTING_FLAG + ": Optional flag to annotate existing Java files instead of generating new ones");
+        System.err.println("  " + THREADS_OPTION + " N: Optional number of threads used to parse the HBM files and to generate or " +
+            "annotate the entities (default " + ConversionOptions.DEFAULT_THREADS + ")");
+        System.err.println("  " + PARSER_OPTION + " dom|stax: Optional way of reading the HBM files, as a DOM (default) or " +
+            "streamed with StAX (lower memory usage on large files)");
+        System.err.println("  " + REPORT_OPTION + " path: Optional JSON file where the timings and counters of the run " +
+            "are written");
+        System.err.println("  " + FULL_FLAG + ": Optional flag to convert everything again, instead of only what changed " +
+            "since the previous run");
+        System.err.println("  " + WATCH_FLAG + ": Optional flag to keep converting the HBM files as they change, until " +
+            "the process is stopped");
     }
 
 }
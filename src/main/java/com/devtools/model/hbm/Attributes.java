@@ -43,6 +43,9 @@ public final class Attributes {
     public static final String ATTR_CONSTRAINED = "constrained";
     public static final String ATTR_PROPERTY_REF = "property-ref";
     public static final String ATTR_UNSAVED_VALUE = "unsaved-value";
+    public static final String ATTR_BATCH_SIZE = "batch-size";
+    public static final String ATTR_REGION = "region";
+    public static final String ATTR_INCLUDE = "include";
 
     public static final Map<String, List<String>> ATTRIBUTES;
 
@@ -50,13 +53,13 @@ public final class Attributes {
         ATTRIBUTES = new HashMap<>();
         ATTRIBUTES.put(Tags.TAG_HIBERNATE_MAPPING, List.of(ATTR_DEFAULT_CASCADE, ATTR_PACKAGE));
         ATTRIBUTES.put(Tags.TAG_CLASS, List.of(ATTR_NAME, ATTR_TABLE, ATTR_DYNAMIC_INSERT, ATTR_DYNAMIC_UPDATE,
-                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_DISCRIMINATOR_VALUE, ATTR_LAZY));
+                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_DISCRIMINATOR_VALUE, ATTR_LAZY, ATTR_BATCH_SIZE));
         ATTRIBUTES.put(Tags.TAG_SUBCLASS, List.of(ATTR_NAME, ATTR_TABLE, ATTR_DYNAMIC_INSERT, ATTR_DYNAMIC_UPDATE,
-                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_DISCRIMINATOR_VALUE, ATTR_EXTENDS, ATTR_LAZY));
+                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_DISCRIMINATOR_VALUE, ATTR_EXTENDS, ATTR_LAZY, ATTR_BATCH_SIZE));
         ATTRIBUTES.put(Tags.TAG_UNION_SUBCLASS, List.of(ATTR_NAME, ATTR_TABLE, ATTR_DYNAMIC_INSERT, ATTR_DYNAMIC_UPDATE,
-                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_EXTENDS, ATTR_LAZY));
+                ATTR_ABSTRACT, ATTR_MUTABLE, ATTR_EXTENDS, ATTR_LAZY, ATTR_BATCH_SIZE));
 
-        ATTRIBUTES.put(Tags.TAG_CACHE, List.of(ATTR_USAGE));
+        ATTRIBUTES.put(Tags.TAG_CACHE, List.of(ATTR_USAGE, ATTR_REGION, ATTR_INCLUDE));
         ATTRIBUTES.put(Tags.TAG_JOIN, List.of(ATTR_TABLE));
         ATTRIBUTES.put(Tags.TAG_PROPERTIES, List.of(ATTR_NAME, ATTR_UNIQUE));
         ATTRIBUTES.put(Tags.TAG_PROPERTY, List.of(ATTR_NAME, ATTR_TYPE, ATTR_COLUMN, ATTR_UPDATE, ATTR_LAZY,
@@ -84,7 +87,7 @@ public final class Attributes {
         ATTRIBUTES.put(Tags.TAG_VERSION, List.of(ATTR_NAME, ATTR_TYPE));
 
         final List<String> collectionAttrs = List.of(ATTR_NAME, ATTR_TABLE, ATTR_INVERSE, ATTR_LAZY, ATTR_CASCADE,
-                ATTR_ORDER_BY, ATTR_FETCH
+                ATTR_ORDER_BY, ATTR_FETCH, ATTR_BATCH_SIZE
         );
         ATTRIBUTES.put(Tags.TAG_SET, collectionAttrs);
         ATTRIBUTES.put(Tags.TAG_LIST, collectionAttrs);
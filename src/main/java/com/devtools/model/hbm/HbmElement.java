@@ -0,0 +1,126 @@
+package com.devtools.model.hbm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lightweight element of a HBM mapping file, read either from a DOM or from a StAX stream.
+ *
+ * <p>Children are indexed by tag name when added, so looking them up doesn't scan nor allocate anything.
+ * Attributes behave like the DOM ones: a missing attribute is read as an empty string.</p>
+ */
+public class HbmElement {
+
+    private final String tagName;
+    private Map<String, String> attributes;
+    private List<HbmElement> children;
+    private Map<String, List<HbmElement>> childrenByTag;
+    private StringBuilder text;
+
+    public HbmElement(final String tagName) {
+        this.tagName = tagName;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public String getAttribute(final String name) {
+        if (attributes == null) {
+            return "";
+        }
+        final String value = attributes.get(name);
+        return value != null ? value : "";
+    }
+
+    /**
+     * @return the names of the attributes of this element, sorted alphabetically
+     */
+    public Set<String> getAttributeNames() {
+        return attributes != null ? attributes.keySet() : Collections.emptySet();
+    }
+
+    public void setAttribute(final String name, final String value) {
+        if (attributes == null) {
+            attributes = new TreeMap<>();
+        }
+        attributes.put(name, value);
+    }
+
+    /**
+     * @return all the child elements, in document order
+     */
+    public List<HbmElement> getChildren() {
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    /**
+     * @param tag the tag name to match
+     * @return the child elements with the given tag name, in document order (empty list if none found)
+     */
+    public List<HbmElement> getChildren(final String tag) {
+        if (childrenByTag == null) {
+            return Collections.emptyList();
+        }
+        final List<HbmElement> elements = childrenByTag.get(tag);
+        return elements != null ? Collections.unmodifiableList(elements) : Collections.emptyList();
+    }
+
+    /**
+     * @param tag the tag name to match
+     * @return the first child element with the given tag name, or null if none found
+     */
+    public HbmElement getFirstChild(final String tag) {
+        if (childrenByTag == null) {
+            return null;
+        }
+        final List<HbmElement> elements = childrenByTag.get(tag);
+        return elements != null ? elements.get(0) : null;
+    }
+
+    public void addChild(final HbmElement child) {
+        if (children == null) {
+            children = new ArrayList<>();
+            childrenByTag = new HashMap<>();
+        }
+        children.add(child);
+        childrenByTag.computeIfAbsent(child.getTagName(), tag -> new ArrayList<>(1)).add(child);
+    }
+
+    /**
+     * @return the text content of this element and its descendants, trimmed (empty string if none)
+     */
+    public String getText() {
+        return text != null ? text.toString().trim() : "";
+    }
+
+    /**
+     * Appends a chunk of text read inside this element (or inside one of its descendants).
+     * Leading whitespace is dropped right away, since the text is always read trimmed.
+     */
+    public void appendText(final CharSequence chunk) {
+        if (text == null) {
+            if (StringUtils.isBlank(chunk)) {
+                return;
+            }
+            text = new StringBuilder();
+        }
+        text.append(chunk);
+    }
+
+    /**
+     * Appends the text of a child element once it was completely read, keeping the document order.
+     */
+    public void appendChildText(final HbmElement child) {
+        if (child.text != null) {
+            appendText(child.text);
+        }
+    }
+}
@@ -14,8 +14,6 @@ import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
 
-import com.devtools.utils.Utils;
-
 @Getter
 @Setter
 public abstract class JpaAbstract {
@@ -24,7 +22,7 @@ public abstract class JpaAbstract {
     protected String name;
 
     private Map<String, String> typeParams = new LinkedHashMap<>();
-    private final List<String> annotations = new ArrayList<>();
+    private final List<JpaAnnotation> annotations = new ArrayList<>();
     private final Set<String> imports = new TreeSet<>();
 
     private volatile boolean processed = false;
@@ -59,10 +57,10 @@ public abstract class JpaAbstract {
         typeParams.put(trim(key), trim(value));
     }
 
-    public void addAnnotation(final String annotation) {
-        if (StringUtils.isNotBlank(annotation)) {
-            imports.addAll(Utils.extractFullyQualifiedClassNames(annotation));
-            annotations.add(Utils.removePackagesFromText(annotation));
+    public void addAnnotation(final JpaAnnotation annotation) {
+        if (annotation != null) {
+            imports.addAll(annotation.getImports());
+            annotations.add(annotation);
         }
     }
 }
@@ -0,0 +1,305 @@
+package com.devtools.model.jpa;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.devtools.utils.ClassNameUtils;
+
+/**
+ * Annotation of an entity or of one of its fields: its type, its members and their values (which may be nested
+ * annotations).
+ *
+ * <p>It's built once by the {@code AnnotationBuilder}, then either rendered as source code
+ * (see {@link #toSource(String)}) or turned into a JavaParser node, without being parsed again.
+ * Types are kept with their full name: they are written with their simple name, and imported
+ * (see {@link #getImports()}).</p>
+ */
+@Getter
+@EqualsAndHashCode
+public class JpaAnnotation {
+
+    public static final String VALUE = "value";
+
+    private static final String INDENT = "    ";
+
+    private final String type;
+    private final Map<String, Value> members = new LinkedHashMap<>();
+    // Whether each member is written in its own line
+    private boolean multiline;
+
+    public JpaAnnotation(final String type) {
+        this.type = type;
+    }
+
+    public JpaAnnotation(final String type, final Value value) {
+        this(type);
+        addMember(VALUE, value);
+    }
+
+    public JpaAnnotation addMember(final String name, final Value value) {
+        members.put(name, value);
+        return this;
+    }
+
+    public JpaAnnotation multiline() {
+        this.multiline = true;
+        return this;
+    }
+
+    public String getSimpleName() {
+        return ClassNameUtils.getSimpleClassName(type);
+    }
+
+    /**
+     * @return true if this annotation only has the {@value #VALUE} member, written without its name
+     */
+    public boolean isSingleMember() {
+        return members.size() == 1 && members.containsKey(VALUE);
+    }
+
+    /**
+     * @return the full names of the types used by this annotation and its nested annotations
+     */
+    public Set<String> getImports() {
+        final Set<String> imports = new TreeSet<>();
+        collectImports(imports);
+        return imports;
+    }
+
+    private void collectImports(final Set<String> imports) {
+        addImport(imports, type);
+        members.values().forEach(value -> value.collectImports(imports));
+    }
+
+    private static void addImport(final Set<String> imports, final String type) {
+        // Types given without package (e.g. java.lang ones) are not imported
+        if (type.contains(".")) {
+            imports.add(type);
+        }
+    }
+
+    /**
+     * Writes this annotation as source code, with the simple names of the types.
+     *
+     * @param indent the indentation of the line where the annotation is written, used for its continuation lines
+     * @return the source code of the annotation
+     */
+    public String toSource(final String indent) {
+        final StringBuilder source = new StringBuilder();
+        appendSource(source, indent);
+        return source.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toSource("");
+    }
+
+    private void appendSource(final StringBuilder source, final String indent) {
+        source.append('@').append(getSimpleName());
+        if (members.isEmpty()) {
+            return;
+        }
+
+        source.append('(');
+        if (isSingleMember()) {
+            members.get(VALUE).appendSource(source, indent);
+        } else {
+            final String memberIndent = multiline ? indent + INDENT : indent;
+            boolean first = true;
+            for (final Map.Entry<String, Value> member : members.entrySet()) {
+                if (!first) {
+                    source.append(multiline ? ",\n" + memberIndent : ", ");
+                }
+                source.append(member.getKey()).append(" = ");
+                member.getValue().appendSource(source, memberIndent);
+                first = false;
+            }
+        }
+        source.append(')');
+    }
+
+    public static Value string(final String value) {
+        return new StringValue(String.valueOf(value));
+    }
+
+    public static Value textBlock(final String value) {
+        return new TextBlockValue(value);
+    }
+
+    /**
+     * @param value a number or a boolean, written as is
+     */
+    public static Value literal(final Object value) {
+        return new LiteralValue(String.valueOf(value));
+    }
+
+    public static Value enumConstant(final String type, final String constant) {
+        return new EnumValue(type, constant);
+    }
+
+    public static Value classLiteral(final String type) {
+        return new ClassValue(type);
+    }
+
+    public static Value annotation(final JpaAnnotation annotation) {
+        return new AnnotationValue(annotation);
+    }
+
+    public static Value array(final Value... values) {
+        return new ArrayValue(List.of(values), false);
+    }
+
+    public static Value array(final List<? extends Value> values) {
+        return new ArrayValue(List.copyOf(values), false);
+    }
+
+    /**
+     * @return an array whose values are written each one in its own line
+     */
+    public static Value multilineArray(final List<? extends Value> values) {
+        return new ArrayValue(List.copyOf(values), true);
+    }
+
+    public static List<Value> annotations(final List<JpaAnnotation> annotations) {
+        final List<Value> values = new ArrayList<>(annotations.size());
+        annotations.forEach(annotation -> values.add(annotation(annotation)));
+        return values;
+    }
+
+    /**
+     * Value of an annotation member.
+     */
+    public sealed interface Value permits StringValue, TextBlockValue, LiteralValue, EnumValue, ClassValue,
+            AnnotationValue, ArrayValue {
+
+        void appendSource(StringBuilder source, String indent);
+
+        default void collectImports(final Set<String> imports) {
+        }
+    }
+
+    /**
+     * String literal, {@code value} being the string itself (escaped when written).
+     */
+    public record StringValue(String value) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            source.append('"').append(escape(value)).append('"');
+        }
+    }
+
+    /**
+     * Text block, {@code value} being written as is between the delimiters.
+     */
+    public record TextBlockValue(String value) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            source.append("\"\"\"").append(value).append("\"\"\"");
+        }
+    }
+
+    public record LiteralValue(String value) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            source.append(value);
+        }
+    }
+
+    public record EnumValue(String type, String constant) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            source.append(ClassNameUtils.getSimpleClassName(type)).append('.').append(constant);
+        }
+
+        @Override
+        public void collectImports(final Set<String> imports) {
+            addImport(imports, type);
+        }
+    }
+
+    public record ClassValue(String type) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            source.append(ClassNameUtils.getSimpleClassName(type)).append(".class");
+        }
+
+        @Override
+        public void collectImports(final Set<String> imports) {
+            addImport(imports, type);
+        }
+    }
+
+    public record AnnotationValue(JpaAnnotation annotation) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            annotation.appendSource(source, indent);
+        }
+
+        @Override
+        public void collectImports(final Set<String> imports) {
+            annotation.collectImports(imports);
+        }
+    }
+
+    public record ArrayValue(List<Value> values, boolean multiline) implements Value {
+
+        @Override
+        public void appendSource(final StringBuilder source, final String indent) {
+            if (!multiline) {
+                source.append('{');
+                for (int i = 0; i < values.size(); i++) {
+                    source.append(i > 0 ? ", " : "");
+                    values.get(i).appendSource(source, indent);
+                }
+                source.append('}');
+                return;
+            }
+
+            final String valueIndent = indent + INDENT;
+            source.append("{\n");
+            for (int i = 0; i < values.size(); i++) {
+                source.append(valueIndent);
+                values.get(i).appendSource(source, valueIndent);
+                source.append(i < values.size() - 1 ? ",\n" : "\n");
+            }
+            source.append(indent).append('}');
+        }
+
+        @Override
+        public void collectImports(final Set<String> imports) {
+            values.forEach(value -> value.collectImports(imports));
+        }
+    }
+
+    /**
+     * Escapes a string to be written in a Java string literal.
+     */
+    public static String escape(final String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
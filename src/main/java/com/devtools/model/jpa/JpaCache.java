@@ -0,0 +1,57 @@
+package com.devtools.model.jpa;
+
+import static org.apache.commons.lang3.StringUtils.trim;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Second-level cache settings of an entity or a collection, read from a {@code <cache>} element.
+ */
+@Getter
+@Setter
+public class JpaCache {
+
+    public static final String DEFAULT_INCLUDE = "all";
+
+    private String usage;
+    private String region;
+    private String include = DEFAULT_INCLUDE;
+
+    public void setUsage(final String usage) {
+        if (StringUtils.isNotBlank(usage)) {
+            this.usage = trim(usage);
+        }
+    }
+
+    public void setRegion(final String region) {
+        if (StringUtils.isNotBlank(region)) {
+            this.region = trim(region);
+        }
+    }
+
+    public void setInclude(final String include) {
+        if (StringUtils.isNotBlank(include)) {
+            this.include = trim(include);
+        }
+    }
+
+    /**
+     * @return the Hibernate {@code CacheConcurrencyStrategy} of the usage, or null if the usage is blank or unknown
+     */
+    public String getConcurrencyStrategy() {
+        if (usage == null) {
+            return null;
+        }
+        return switch (usage) {
+            case "read-only" -> "READ_ONLY";
+            case "read-write" -> "READ_WRITE";
+            case "nonstrict-read-write" -> "NONSTRICT_READ_WRITE";
+            case "transactional" -> "TRANSACTIONAL";
+            default -> null;
+        };
+    }
+
+}
@@ -31,8 +31,12 @@ public class JpaEntity extends JpaAbstract {
     private boolean abstractClass = false;
     private boolean mutable = true;
     private boolean embeddable = false;
-    private String cacheUsage;
+    private JpaCache cache;
+    // Whether the resolutions of the natural id to the primary key are cached as well (cached entity with a natural id)
+    private boolean naturalIdCache = false;
     private boolean lazy = false;
+    // Number of instances loaded at once when initialising proxies of this entity (0 if not batched)
+    private int batchSize = 0;
 
     private JpaPrimaryKey primaryKey;
     private final List<JpaColumn> columns = new ArrayList<>();
@@ -119,9 +123,9 @@ public class JpaEntity extends JpaAbstract {
         }
     }
 
-    public void setCacheUsage(final String cacheUsage) {
-        if (StringUtils.isNotBlank(cacheUsage)) {
-            this.cacheUsage = trim(cacheUsage);
+    public void setCache(final JpaCache cache) {
+        if (cache != null) {
+            this.cache = cache;
         }
     }
 
@@ -18,9 +18,17 @@ public class JpaRelationship extends JpaAbstract {
         OneToMany, OneToOne, ManyToOne, ManyToMany
     }
 
+    // HBM lazy attribute of a collection: EXTRA initialises it on demand only (size() and contains() are queries)
+    public enum Lazy {
+        TRUE, FALSE, EXTRA
+    }
+
     private Type relationshipType;
     private String collectionType;
     private String fetch;
+    // HBM fetch attribute (join, select or subselect), kept as is
+    private String fetchMode;
+    private Lazy lazy = Lazy.TRUE;
     private String cascade;
     private boolean inverse = false;
     private String orderBy;
@@ -30,6 +38,9 @@ public class JpaRelationship extends JpaAbstract {
     private boolean optional = true;
     private String mappedBy;
     private String compositeMapKey;
+    // Number of collections initialised at once (0 if not batched)
+    private int batchSize = 0;
+    private JpaCache cache;
     private List<JpaColumn> referencedColumns = new ArrayList<>();
 
     public void setCollectionType(final String collectionType) {
@@ -44,6 +55,22 @@ public class JpaRelationship extends JpaAbstract {
         }
     }
 
+    public void setFetchMode(final String fetchMode) {
+        if (StringUtils.isNotBlank(fetchMode)) {
+            this.fetchMode = trim(fetchMode);
+        }
+    }
+
+    public void setLazy(final String lazy) {
+        if (StringUtils.isNotBlank(lazy)) {
+            this.lazy = switch (trim(lazy)) {
+                case "false" -> Lazy.FALSE;
+                case "extra" -> Lazy.EXTRA;
+                default -> Lazy.TRUE;
+            };
+        }
+    }
+
     public void setCascade(final String cascade, final String defaultCascade) {
         this.cascade = StringUtils.isNotBlank(cascade) ? trim(cascade) :
                 StringUtils.isNotBlank(defaultCascade) && !"none".equals(defaultCascade) ? trim(defaultCascade) : null;
@@ -1,10 +1,9 @@
 package com.devtools.processing;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +15,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.devtools.model.jpa.JpaAbstract;
+import com.devtools.model.jpa.JpaAnnotation;
 import com.devtools.model.jpa.JpaEntity;
 import com.devtools.model.jpa.JpaPrimaryKey;
 import com.devtools.utils.ClassNameUtils;
@@ -33,44 +33,99 @@ public class AnnotationApplier {
 
     private static final Log LOG = LogFactory.getLog(AnnotationApplier.class);
 
-    private static final String IGNORE_PROPERTIES = "ignore.properties";
+    // Annotations of the components and join tables, whose fields never get a @Type
+    private static final Set<String> COMPONENT_ANNOTATIONS = Set.of("AttributeOverrides", "Columns", "JoinTable");
 
     private final String outputFolder;
+    private final ConversionReport report;
+    private final CompilationUnitCache compilationUnits;
+    // Processed classes and fields across the entire entity hierarchy
+    private final AnnotationContext context;
+
+    public AnnotationApplier(final String outputFolder, final CompilationUnitCache compilationUnits,
+            final ConversionReport report) {
+        this(outputFolder, compilationUnits, new AnnotationContext(), report);
+    }
 
-    // Initialize cache to track processed classes across the entire entity hierarchy
-    private static final Map<String, String> PROCESSED_CLASSES = new HashMap<>();
-    private static final Map<String, Set<String>> PROCESSED_FIELDS = new HashMap<>();
-    private static final Map<String, Set<String>> IGNORED_FIELDS = new HashMap<>();
-
-    public AnnotationApplier(final String outputFolder) {
+    public AnnotationApplier(final String outputFolder, final CompilationUnitCache compilationUnits,
+            final AnnotationContext context, final ConversionReport report) {
         this.outputFolder = outputFolder;
-
-        if (PROCESSED_CLASSES.isEmpty()) {
-            final Map<String, Set<String>> ignoreFields = FileUtils.readPropertiesFile(IGNORE_PROPERTIES);
-            IGNORED_FIELDS.putAll(ignoreFields);
-        }
+        this.report = report;
+        this.compilationUnits = compilationUnits;
+        this.context = context;
     }
 
     public void applyAnnotations(final JpaEntity entity) throws IOException {
 
-        writeAnnotations(entity, entity.getType(), false);
+        writeAnnotations(entity, new PendingFields(entity), entity.getType(), false);
 
         // Check if some element parsed from the hbm.xml has no corresponding field in the class
         validateFieldsNotFound(entity);
     }
 
-    private void writeAnnotations(final JpaEntity entity, final String fullClassName, final boolean isParentClass)
-            throws IOException {
+    /**
+     * Finds the classes whose source files are changed when annotating an entity: its own class and its parent
+     * classes, as far as their source files are found.
+     *
+     * @param fullClassName the full name of the class of the entity
+     * @return the simple names of the class and of its parent classes
+     * @throws IOException if a source file can't be read
+     */
+    public Set<String> findClassHierarchy(final String fullClassName) throws IOException {
+        return walkClassHierarchy(fullClassName).keySet();
+    }
+
+    /**
+     * Finds the source files changed when annotating an entity: the ones of its own class and of its parent classes,
+     * as far as they are found.
+     *
+     * @param fullClassName the full name of the class of the entity
+     * @return the paths of the source files
+     * @throws IOException if a source file can't be read
+     */
+    public List<Path> findSourceFiles(final String fullClassName) throws IOException {
+        return walkClassHierarchy(fullClassName).values().stream()
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .toList();
+    }
+
+    private Map<String, Optional<Path>> walkClassHierarchy(final String fullClassName) throws IOException {
+        final Map<String, Optional<Path>> hierarchy = new LinkedHashMap<>();
+        String className = fullClassName;
+        while (className != null && !hierarchy.containsKey(ClassNameUtils.getSimpleClassName(className))) {
+            final CompilationUnit cu = compilationUnits.find(className);
+            hierarchy.put(ClassNameUtils.getSimpleClassName(className),
+                    cu != null ? cu.getStorage().map(CompilationUnit.Storage::getPath) : Optional.empty());
+            final Optional<ClassOrInterfaceDeclaration> clazz = cu != null ?
+                    cu.getClassByName(ClassNameUtils.getSimpleClassName(className)) : Optional.empty();
+            className = clazz.isPresent() && !clazz.get().getExtendedTypes().isEmpty() ?
+                    clazz.get().getExtendedTypes().get(0).getNameWithScope() : null;
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Writes the source files changed by the annotated entities. Each file is written once, however many
+     * entities changed it, so this is called once all the entities were annotated.
+     *
+     * @return the number of files written
+     */
+    public int writeChanges() {
+        return compilationUnits.writeDirty();
+    }
+
+    private void writeAnnotations(final JpaEntity entity, final PendingFields pendingFields, final String fullClassName,
+            final boolean isParentClass) throws IOException {
         final String simpleClassName = ClassNameUtils.getSimpleClassName(fullClassName);
 
-        // Parse the file
-        final CompilationUnit cu = JavaParserUtils.parseJava(outputFolder, fullClassName);
+        final CompilationUnit cu = compilationUnits.get(fullClassName);
         if (cu == null) {
             // Add this failure as a processed class, so we don't check it again later
-            PROCESSED_CLASSES.put(simpleClassName, null);
+            context.setProcessed(simpleClassName, null);
             if (!isParentClass && !entity.isEmbeddable()) {
                 LOG.warn("Generating a new one in " + outputFolder);
-                final EntityGenerator entityGenerator = new EntityGenerator();
+                final EntityGenerator entityGenerator = new EntityGenerator(report.measuring(FileUtils::writeFileIfChanged));
                 entityGenerator.generate(entity, outputFolder);
             }
             return;
@@ -89,8 +144,6 @@ public class AnnotationApplier {
             }
         }
 
-        final List<JpaAbstract> allFields = getAllFields(entity);
-
         // Add annotations to the fields
         cu.findAll(FieldDeclaration.class).forEach(field -> {
             for (final VariableDeclarator variable : field.getVariables()) {
@@ -102,22 +155,18 @@ public class AnnotationApplier {
                     continue;
                 }
 
-                allFields.stream()
-                        .filter(jpaElement -> !jpaElement.isProcessed() && jpaElement.getName() != null &&
-                                              jpaElement.getName().equals(variable.getNameAsString()))
-                        .forEach(jpaElement -> annotateField(simpleClassName, field, jpaElement, cu, entityChanged));
+                pendingFields.getPending(variable.getNameAsString()).forEach(jpaElement ->
+                        annotateField(simpleClassName, field, jpaElement, pendingFields, cu, entityChanged));
             }
         });
 
-        if (hasPendingFields(entity)) {
+        if (pendingFields.hasPending(context, entity.getSimpleName())) {
             // Check for all non-standard getters (mapped in the hbm.xml with a different name, instead of the real field name)
             // Example: getBlaBla() { return bla; } -> in this case "blaBla" was mapped in .hbm.xml, instead of "bla"
             final Map<String, FieldDeclaration> nonStandardGetters = JavaParserUtils.findFieldsWithNonStandardGetters(
                     clazz);
-            nonStandardGetters.forEach((nonStandardName, field) -> allFields.stream()
-                    .filter(jpaElement -> !jpaElement.isProcessed() && jpaElement.getName() != null &&
-                                          jpaElement.getName().equals(nonStandardName))
-                    .forEach(jpaElement -> annotateField(simpleClassName, field, jpaElement, cu, entityChanged)));
+            nonStandardGetters.forEach((nonStandardName, field) -> pendingFields.getPending(nonStandardName).forEach(
+                    jpaElement -> annotateField(simpleClassName, field, jpaElement, pendingFields, cu, entityChanged)));
         }
 
         // Check if some fields are in the parent classes recursively
@@ -128,35 +177,40 @@ public class AnnotationApplier {
             final String parentFullClassName = resolvedType.getNameWithScope();
 
             // Mark this class as processed
-            PROCESSED_CLASSES.put(simpleClassName, parentSimpleClassName);
+            context.setProcessed(simpleClassName, parentSimpleClassName);
 
-            if (hasPendingFields(entity) && !IGNORED_FIELDS.containsKey(parentSimpleClassName)) {
-                writeAnnotations(entity, parentFullClassName, true);
+            if (pendingFields.hasPending(context, entity.getSimpleName()) &&
+                !context.isIgnoredClass(parentSimpleClassName)) {
+                writeAnnotations(entity, pendingFields, parentFullClassName, true);
             }
 
         } else {
             // Mark this class as processed
-            PROCESSED_CLASSES.put(simpleClassName, null);
+            context.setProcessed(simpleClassName, null);
         }
 
-        // Write the modified file back
+        // Complete the modified class, it's written back once all the entities are annotated
         if (entityChanged.get()) {
-            LOG.info("Writing " + (isParentClass ? "parent " : "") + "class: " + simpleClassName);
-            writeFileClass(entity, isParentClass, cu, clazz);
+            LOG.debug("Changed " + (isParentClass ? "parent " : "") + "class: " + simpleClassName);
+            updateFileClass(entity, isParentClass, cu, clazz);
         }
 
+        // Resolving the annotations is where the symbol solver is used
+        final long resolutionStart = System.nanoTime();
         if (!isParentClass) {
             JavaParserUtils.getNonPersistentFields(cu).forEach(field ->
                     LOG.warn("Found a non-persistent field \"" + field.getVariable(0).getNameAsString()
                             + "\" in the class " + simpleClassName + ". Annotate it with @Transient"));
         }
+
+        compilationUnits.recordSymbolResolution(cu, System.nanoTime() - resolutionStart);
     }
 
-    private void writeFileClass(final JpaEntity entity, final boolean isParentClass,
-            final CompilationUnit cu, final ClassOrInterfaceDeclaration clazz) throws IOException {
+    private void updateFileClass(final JpaEntity entity, final boolean isParentClass,
+            final CompilationUnit cu, final ClassOrInterfaceDeclaration clazz) {
         if (isParentClass) {
             cu.addImport("javax.persistence.MappedSuperclass");
-            JavaParserUtils.addAnnotations(List.of("@MappedSuperclass"), clazz);
+            JavaParserUtils.addAnnotations(List.of(new JpaAnnotation("javax.persistence.MappedSuperclass")), clazz);
         } else {
             // If id field was not found in the class (probably it is in the super class)
             // and it was defined in the mapping, we will create it at the beginning of the class
@@ -168,7 +222,7 @@ public class AnnotationApplier {
             JavaParserUtils.addDefaultConstructorIfNeeded(clazz);
         }
 
-        Files.write(cu.getStorage().orElseThrow().getPath(), cu.toString().getBytes());
+        compilationUnits.markDirty(cu);
     }
 
     private static List<JpaAbstract> getAllFields(final JpaEntity entity) {
@@ -182,33 +236,8 @@ public class AnnotationApplier {
         return allFields;
     }
 
-    private boolean hasPendingFields(final JpaEntity entity) {
-        String clazz = entity.getSimpleName();
-        final Set<String> allParentClasses = new HashSet<>();
-        do {
-            allParentClasses.add(clazz);
-        } while ((clazz = PROCESSED_CLASSES.get(clazz)) != null);
-
-        final Set<String> allProcessedFields = new HashSet<>();
-        IGNORED_FIELDS.values().forEach(allProcessedFields::addAll);
-
-        allParentClasses.forEach(pc -> {
-            if (PROCESSED_FIELDS.containsKey(pc)) {
-                allProcessedFields.addAll(PROCESSED_FIELDS.get(pc));
-            }
-        });
-
-        getAllFields(entity).forEach(jpaElement -> {
-            if (!jpaElement.isProcessed() &&
-                    allProcessedFields.contains(jpaElement.getName())) {
-                jpaElement.setProcessed(true);
-            }
-        });
-        return !getAllFields(entity).stream().allMatch(JpaAbstract::isProcessed);
-    }
-
     private void annotateField(final String simpleClassName, final FieldDeclaration field, final JpaAbstract jpaElement,
-            final CompilationUnit cu, final AtomicBoolean entityChanged) {
+            final PendingFields pendingFields, final CompilationUnit cu, final AtomicBoolean entityChanged) {
 
         if (addTypeAnnotationIfNeeded(field, jpaElement)) {
             entityChanged.set(true);
@@ -220,17 +249,10 @@ public class AnnotationApplier {
         if (JavaParserUtils.addAnnotations(jpaElement.getAnnotations(), field)) {
             entityChanged.set(true);
         }
-        jpaElement.setProcessed(true);
+        pendingFields.annotated(jpaElement);
 
         // Cache processed fields to improve performance
-        final Set<String> classProcessedFields;
-        if (PROCESSED_FIELDS.containsKey(simpleClassName)) {
-            classProcessedFields = PROCESSED_FIELDS.get(simpleClassName);
-        } else {
-            classProcessedFields = new HashSet<>();
-            PROCESSED_FIELDS.put(simpleClassName, classProcessedFields);
-        }
-        classProcessedFields.add(jpaElement.getName());
+        context.addProcessedField(simpleClassName, jpaElement.getName());
     }
 
     private static boolean addTypeAnnotationIfNeeded(final FieldDeclaration field, final JpaAbstract jpaElement) {
@@ -243,21 +265,18 @@ public class AnnotationApplier {
             // except when it's a component (with @AttributeOverrides annotation)
             if (StringUtils.isNotBlank(fieldType) &&
                 !HibernateUtils.isPrimitiveType(fieldType) && !annotationType.equals(fieldType) &&
-                jpaElement.getAnnotations().stream().noneMatch(ann -> ann.contains("AttributeOverrides") || ann.contains("Columns"))) {
-                final StringBuilder typeAnnotation = new StringBuilder();
-                typeAnnotation.append("@org.hibernate.annotations.Type(type = \"").append(jpaElement.getType())
-                        .append("\"");
+                jpaElement.getAnnotations().stream().noneMatch(ann -> COMPONENT_ANNOTATIONS.contains(ann.getSimpleName()))) {
+                final JpaAnnotation typeAnnotation = new JpaAnnotation("org.hibernate.annotations.Type")
+                        .addMember("type", JpaAnnotation.string(jpaElement.getType()));
                 if (!jpaElement.getTypeParams().isEmpty()) {
-                    typeAnnotation.append(",\n        parameters = {\n");
+                    final List<JpaAnnotation> parameters = new ArrayList<>();
                     for (final Map.Entry<String, String> entry : jpaElement.getTypeParams().entrySet()) {
-                        typeAnnotation.append("            @org.hibernate.annotations.Parameter(name = \"").append(
-                                entry.getKey());
-                        typeAnnotation.append("\", value = \"").append(entry.getValue()).append("\"),\n");
+                        parameters.add(AnnotationBuilder.buildParameter(entry.getKey(), entry.getValue()));
                     }
-                    typeAnnotation.append("        }\n    ");
+                    typeAnnotation.addMember("parameters", JpaAnnotation.array(JpaAnnotation.annotations(parameters)));
                 }
-                typeAnnotation.append(")");
-                JavaParserUtils.addAnnotations(List.of(typeAnnotation.toString()), field);
+                // Written with the full name, as it's not imported
+                JavaParserUtils.addAnnotations(List.of(typeAnnotation), field, true);
                 return true;
             }
         }
@@ -1,5 +1,15 @@
 package com.devtools.processing;
 
+import static com.devtools.model.jpa.JpaAnnotation.annotation;
+import static com.devtools.model.jpa.JpaAnnotation.annotations;
+import static com.devtools.model.jpa.JpaAnnotation.array;
+import static com.devtools.model.jpa.JpaAnnotation.classLiteral;
+import static com.devtools.model.jpa.JpaAnnotation.enumConstant;
+import static com.devtools.model.jpa.JpaAnnotation.literal;
+import static com.devtools.model.jpa.JpaAnnotation.multilineArray;
+import static com.devtools.model.jpa.JpaAnnotation.string;
+import static com.devtools.model.jpa.JpaAnnotation.textBlock;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -10,6 +20,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.devtools.model.hbm.Tags;
+import com.devtools.model.jpa.JpaAnnotation;
+import com.devtools.model.jpa.JpaCache;
 import com.devtools.model.jpa.JpaColumn;
 import com.devtools.model.jpa.JpaCompositeColumn;
 import com.devtools.model.jpa.JpaDiscriminator;
@@ -19,7 +31,6 @@ import com.devtools.model.jpa.JpaPrimaryKey;
 import com.devtools.model.jpa.JpaRelationship;
 import com.devtools.utils.ClassNameUtils;
 import com.devtools.utils.HibernateUtils;
-import com.devtools.utils.JavaParserUtils;
 import com.devtools.utils.Utils;
 
 public class AnnotationBuilder {
@@ -28,10 +39,16 @@ public class AnnotationBuilder {
 
     private static final String PREFIX_GENERATOR = "generator";
 
-    private final String outputFolder;
+    private static final String JPA = "javax.persistence.";
+    private static final String HIBERNATE = "org.hibernate.annotations.";
+    private static final String FETCH_TYPE = JPA + "FetchType";
+    private static final String GENERATION_TYPE = JPA + "GenerationType";
+    private static final String NATURAL_ID_REGION_SUFFIX = "##NaturalId";
+
+    private final FieldTypeIndex fieldTypeIndex;
 
-    public AnnotationBuilder(final String outputFolder) {
-        this.outputFolder = outputFolder;
+    public AnnotationBuilder(final FieldTypeIndex fieldTypeIndex) {
+        this.fieldTypeIndex = fieldTypeIndex;
     }
 
     public void build(final JpaEntity entityDef) {
@@ -62,121 +79,107 @@ public class AnnotationBuilder {
     private void buildEntity(final JpaEntity jpaEntity) {
 
         if (jpaEntity.isEmbeddable()) {
-            jpaEntity.addAnnotation("@javax.persistence.Embeddable");
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "Embeddable"));
         } else {
             if (StringUtils.isBlank(jpaEntity.getTable()) &&
                     StringUtils.isBlank(jpaEntity.getSecondTable()) &&
                     jpaEntity.getDiscriminator() == null) {
-                jpaEntity.addAnnotation("@javax.persistence.MappedSuperclass");
+                jpaEntity.addAnnotation(new JpaAnnotation(JPA + "MappedSuperclass"));
             } else {
-                jpaEntity.addAnnotation("@javax.persistence.Entity");
+                jpaEntity.addAnnotation(new JpaAnnotation(JPA + "Entity"));
             }
         }
 
         if (StringUtils.isNotBlank(jpaEntity.getTable())) {
-            final StringBuilder indexes = buildIndexes(jpaEntity);
-            final Map<String, StringBuilder> uniqueConstraints = buildUniqueConstraints(jpaEntity);
+            final List<JpaAnnotation> indexes = buildIndexes(jpaEntity);
+            final List<JpaAnnotation> uniqueConstraints = buildUniqueConstraints(jpaEntity);
 
-            final StringBuilder tableAnnotation = new StringBuilder();
-            tableAnnotation.append("@javax.persistence.Table(name = \"");
-            tableAnnotation.append(jpaEntity.getTable()).append("\"");
+            final JpaAnnotation tableAnnotation = new JpaAnnotation(JPA + "Table")
+                    .addMember("name", string(jpaEntity.getTable()));
             if (!indexes.isEmpty()) {
-                tableAnnotation.append(",\n    indexes = {\n").append(indexes).append("\n    }");
+                tableAnnotation.multiline().addMember("indexes", multilineArray(annotations(indexes)));
             }
             if (!uniqueConstraints.isEmpty()) {
-                tableAnnotation.append(",\n    uniqueConstraints = {\n");
-                for (final Map.Entry<String, StringBuilder> entry : uniqueConstraints.entrySet()) {
-                    tableAnnotation.append("        @javax.persistence.UniqueConstraint(name = \"");
-                    tableAnnotation.append(entry.getKey()).append("\", columnNames = {");
-                    tableAnnotation.append(entry.getValue()).append("}),\n");
-                }
-                tableAnnotation.append("    }\n");
+                tableAnnotation.multiline().addMember("uniqueConstraints", multilineArray(annotations(uniqueConstraints)));
             }
-
-            tableAnnotation.append(")");
-            jpaEntity.addAnnotation(tableAnnotation.toString());
+            jpaEntity.addAnnotation(tableAnnotation);
         }
 
         if (StringUtils.isNotBlank(jpaEntity.getSecondTable())) {
-            final StringBuilder tableAnnotation = new StringBuilder();
-            tableAnnotation.append("@javax.persistence.SecondaryTable(name = \"");
-            tableAnnotation.append(jpaEntity.getSecondTable()).append("\"");
+            final JpaAnnotation tableAnnotation = new JpaAnnotation(JPA + "SecondaryTable")
+                    .addMember("name", string(jpaEntity.getSecondTable()));
 
             if (jpaEntity.getSecondTableKeys() != null) {
-                tableAnnotation.append(",\n    pkJoinColumns = @javax.persistence.PrimaryKeyJoinColumn(name = \"")
-                        .append(jpaEntity.getSecondTableKeys().getColumnName()).append("\")");
-                tableAnnotation.append(",\n    foreignKey = @javax.persistence.ForeignKey(name = \"")
-                        .append(jpaEntity.getSecondTableKeys().getForeignKey()).append("\")\n");
+                tableAnnotation.multiline()
+                        .addMember("pkJoinColumns", annotation(new JpaAnnotation(JPA + "PrimaryKeyJoinColumn")
+                                .addMember("name", string(jpaEntity.getSecondTableKeys().getColumnName()))))
+                        .addMember("foreignKey", annotation(new JpaAnnotation(JPA + "ForeignKey")
+                                .addMember("name", string(jpaEntity.getSecondTableKeys().getForeignKey()))));
             }
-
-            tableAnnotation.append(")");
-            jpaEntity.addAnnotation(tableAnnotation.toString());
+            jpaEntity.addAnnotation(tableAnnotation);
         }
 
         if (jpaEntity.isLazy()) {
-            jpaEntity.addAnnotation("@org.hibernate.annotations.Proxy(lazy = true)");
+            jpaEntity.addAnnotation(new JpaAnnotation(HIBERNATE + "Proxy").addMember("lazy", literal(true)));
         }
 
-        if (StringUtils.isNotBlank(jpaEntity.getCacheUsage())) {
-            switch (jpaEntity.getCacheUsage()) {
-                case "read-only":
-                    jpaEntity.addAnnotation("@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_ONLY)");
-                    break;
-                case "read-write":
-                    jpaEntity.addAnnotation("@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)");
-                    break;
-                case "nonstrict-read-write":
-                    jpaEntity.addAnnotation("@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)");
-                    break;
-                case "transactional":
-                    jpaEntity.addAnnotation("@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.TRANSACTIONAL)");
-                    break;
-                default:
-                    break;
+        if (jpaEntity.getCache() != null) {
+            jpaEntity.addAnnotation(buildCache(jpaEntity.getCache(), jpaEntity.getSimpleName()));
+        }
+
+        if (jpaEntity.isNaturalIdCache()) {
+            final JpaAnnotation naturalIdCache = new JpaAnnotation(HIBERNATE + "NaturalIdCache");
+            // Without a region, Hibernate uses the default natural id region of the entity (<entity name>##NaturalId)
+            if (StringUtils.isNotBlank(jpaEntity.getCache().getRegion())) {
+                naturalIdCache.addMember("region", string(jpaEntity.getCache().getRegion() + NATURAL_ID_REGION_SUFFIX));
             }
+            jpaEntity.addAnnotation(naturalIdCache);
+        }
+
+        if (jpaEntity.getBatchSize() > 0) {
+            jpaEntity.addAnnotation(buildBatchSize(jpaEntity.getBatchSize()));
         }
 
         if (!jpaEntity.isMutable()) {
-            jpaEntity.addAnnotation("@org.hibernate.annotations.Immutable");
+            jpaEntity.addAnnotation(new JpaAnnotation(HIBERNATE + "Immutable"));
         }
 
         if (jpaEntity.isDynamicInsert()) {
-            jpaEntity.addAnnotation("@org.hibernate.annotations.DynamicInsert");
+            jpaEntity.addAnnotation(new JpaAnnotation(HIBERNATE + "DynamicInsert"));
         }
 
         if (jpaEntity.isDynamicUpdate()) {
-            jpaEntity.addAnnotation("@org.hibernate.annotations.DynamicUpdate");
+            jpaEntity.addAnnotation(new JpaAnnotation(HIBERNATE + "DynamicUpdate"));
         }
 
         if (jpaEntity.getDiscriminator() != null && StringUtils.isNotBlank(jpaEntity.getDiscriminator().getValue())) {
-            jpaEntity.addAnnotation("@javax.persistence.DiscriminatorValue(\"" + jpaEntity.getDiscriminator().getValue() + "\")");
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "DiscriminatorValue",
+                    string(jpaEntity.getDiscriminator().getValue())));
         }
 
         if (StringUtils.isBlank(jpaEntity.getSimpleParentClass())) {
             // Handle Discriminator Column
             if (jpaEntity.getDiscriminator() != null && jpaEntity.getDiscriminator().getColumn() != null) {
-                final StringBuilder discriminatorAnnotation = new StringBuilder();
-                discriminatorAnnotation.append("@javax.persistence.DiscriminatorColumn(name = \"");
-                discriminatorAnnotation.append(jpaEntity.getDiscriminator().getColumn()).append("\"");
+                final JpaAnnotation discriminatorAnnotation = new JpaAnnotation(JPA + "DiscriminatorColumn")
+                        .addMember("name", string(jpaEntity.getDiscriminator().getColumn()));
                 if (jpaEntity.getDiscriminator().getType() != null &&
                         !"string".equals(jpaEntity.getDiscriminator().getType())) {
-                    discriminatorAnnotation.append(", type = ").append(
-                            HibernateUtils.getDiscriminatorType(jpaEntity.getDiscriminator().getType()));
+                    discriminatorAnnotation.addMember("type", enumConstant(JPA + "DiscriminatorType",
+                            HibernateUtils.getDiscriminatorType(jpaEntity.getDiscriminator().getType())));
                 }
                 if (jpaEntity.getDiscriminator().getLength() != JpaDiscriminator.DEFAULT_DISCRIMINATOR_LENGTH) {
-                    discriminatorAnnotation.append(", length = ").append(jpaEntity.getDiscriminator().getLength());
+                    discriminatorAnnotation.addMember("length", literal(jpaEntity.getDiscriminator().getLength()));
                 }
-                discriminatorAnnotation.append(")");
-                jpaEntity.addAnnotation(discriminatorAnnotation.toString());
+                jpaEntity.addAnnotation(discriminatorAnnotation);
             }
         }
         if (jpaEntity.getInheritance() != null) {
-            jpaEntity.addAnnotation("@javax.persistence.Inheritance(strategy = javax.persistence.InheritanceType."
-                    + jpaEntity.getInheritance().name() + ")");
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "Inheritance")
+                    .addMember("strategy", enumConstant(JPA + "InheritanceType", jpaEntity.getInheritance().name())));
         }
     }
 
-    private StringBuilder buildIndexes(final JpaEntity entityDef) {
+    private List<JpaAnnotation> buildIndexes(final JpaEntity entityDef) {
         final Map<String, List<String>> indexesMap = new HashMap<>();
 
         for (final JpaRelationship relationship : entityDef.getRelationships()) {
@@ -211,15 +214,16 @@ public class AnnotationBuilder {
             }
         }
 
-        final StringBuilder indexes = new StringBuilder();
+        final List<JpaAnnotation> indexes = new ArrayList<>();
         for(final Map.Entry<String, List<String>> entry : indexesMap.entrySet()) {
-            indexes.append("        @javax.persistence.Index(name = \"").append(entry.getKey()).append("\", columnList = \"")
-                    .append(String.join(",", entry.getValue())).append("\"),\n");
+            indexes.add(new JpaAnnotation(JPA + "Index")
+                    .addMember("name", string(entry.getKey()))
+                    .addMember("columnList", string(String.join(",", entry.getValue()))));
         }
         return indexes;
     }
 
-    private Map<String, StringBuilder> buildUniqueConstraints(final JpaEntity entityDef) {
+    private List<JpaAnnotation> buildUniqueConstraints(final JpaEntity entityDef) {
         final Map<String, List<JpaColumn>> columnsMap = new HashMap<>();
         final List<JpaColumn> allColumns = new ArrayList<>(entityDef.getColumns());
         for (final JpaRelationship relationship : entityDef.getRelationships()) {
@@ -242,21 +246,23 @@ public class AnnotationBuilder {
             }
         }
 
-        final Map<String, StringBuilder> constraintsMap = new HashMap<>();
+        final List<JpaAnnotation> uniqueConstraints = new ArrayList<>();
         for (final Map.Entry<String, List<JpaColumn>> entry : columnsMap.entrySet()) {
-            final StringBuilder uniqueConstraints = new StringBuilder();
+            final List<JpaAnnotation.Value> columnNames = new ArrayList<>();
             for (final JpaColumn column : entry.getValue()) {
-                uniqueConstraints.append("\"").append(column.getColumnName()).append("\", ");
+                columnNames.add(string(column.getColumnName()));
             }
-            constraintsMap.put(entry.getKey(), uniqueConstraints);
+            uniqueConstraints.add(new JpaAnnotation(JPA + "UniqueConstraint")
+                    .addMember("name", string(entry.getKey()))
+                    .addMember("columnNames", array(columnNames)));
         }
-        return constraintsMap;
+        return uniqueConstraints;
     }
 
     private void buildPrimaryKey(final JpaEntity entityDef) {
         final JpaPrimaryKey jpaPrimaryKey = entityDef.getPrimaryKey();
 
-        jpaPrimaryKey.addAnnotation("@javax.persistence.Id");
+        jpaPrimaryKey.addAnnotation(new JpaAnnotation(JPA + "Id"));
 
         if (StringUtils.isNotBlank(entityDef.getPrimaryKey().getGeneratorType())) {
             switch (entityDef.getPrimaryKey().getGeneratorType()) {
@@ -267,7 +273,8 @@ public class AnnotationBuilder {
                 buildSeqHiloGenerator(entityDef);
                 break;
             case "IDENTITY":
-                jpaPrimaryKey.addAnnotation("@javax.persistence.GeneratedValue(strategy = javax.persistence.GenerationType.IDENTITY)");
+                jpaPrimaryKey.addAnnotation(new JpaAnnotation(JPA + "GeneratedValue")
+                        .addMember("strategy", enumConstant(GENERATION_TYPE, "IDENTITY")));
                 break;
             case "FOREIGN":
                 buildForeignGenerator(entityDef);
@@ -276,198 +283,201 @@ public class AnnotationBuilder {
                 // No generator, ID will be assigned
                 break;
             default:
-                jpaPrimaryKey.addAnnotation("@javax.persistence.GeneratedValue(generator = \"" +
-                        PREFIX_GENERATOR + entityDef.getSimpleName() + "\")");
-                jpaPrimaryKey.addAnnotation("@org.hibernate.annotations.GenericGenerator(name = \"" +
-                        PREFIX_GENERATOR + entityDef.getSimpleName() + "\", strategy = \"" +
-                        entityDef.getPrimaryKey().getGeneratorType() + "\")");
+                jpaPrimaryKey.addAnnotation(new JpaAnnotation(JPA + "GeneratedValue")
+                        .addMember("generator", string(PREFIX_GENERATOR + entityDef.getSimpleName())));
+                jpaPrimaryKey.addAnnotation(new JpaAnnotation(HIBERNATE + "GenericGenerator")
+                        .addMember("name", string(PREFIX_GENERATOR + entityDef.getSimpleName()))
+                        .addMember("strategy", string(entityDef.getPrimaryKey().getGeneratorType())));
                 break;
             }
         }
 
-        jpaPrimaryKey.addAnnotation("@javax.persistence.Column(name = \"" + jpaPrimaryKey.getColumnName() + "\")");
+        jpaPrimaryKey.addAnnotation(new JpaAnnotation(JPA + "Column")
+                .addMember("name", string(jpaPrimaryKey.getColumnName())));
     }
 
     private static void buildSequenceGenerator(final JpaEntity entityDef) {
         final JpaPrimaryKey jpaPrimaryKey = entityDef.getPrimaryKey();
-        final StringBuilder sequenceAnnotation = new StringBuilder();
-        final StringBuilder generatorAnnotation = new StringBuilder();
 
-        sequenceAnnotation.append("@javax.persistence.GeneratedValue(strategy = javax.persistence.GenerationType.SEQUENCE");
+        final JpaAnnotation sequenceAnnotation = new JpaAnnotation(JPA + "GeneratedValue")
+                .addMember("strategy", enumConstant(GENERATION_TYPE, "SEQUENCE"));
+        JpaAnnotation generatorAnnotation = null;
         if (StringUtils.isNotBlank(entityDef.getPrimaryKey().getGeneratorName())) {
             final String generatorName = entityDef.getPrimaryKey().getGeneratorName();
             final String initialValue = entityDef.getPrimaryKey().getInitialValue();
             final String allocationSize = entityDef.getPrimaryKey().getAllocationSize();
 
-            sequenceAnnotation.append(", generator = \"").append(PREFIX_GENERATOR).append(entityDef.getSimpleName()).append("\"");
-            // Add the @SequenceGenerator
-            sequenceAnnotation.append(")");
+            sequenceAnnotation.addMember("generator", string(PREFIX_GENERATOR + entityDef.getSimpleName()));
 
-            generatorAnnotation.append("@javax.persistence.SequenceGenerator(name = \"" + PREFIX_GENERATOR).append(entityDef.getSimpleName())
-                    .append("\", sequenceName = \"").append(generatorName).append("\"")
-                    .append(StringUtils.isNotBlank(allocationSize) ? ", allocationSize = " + allocationSize : "")
-                    .append(StringUtils.isNotBlank(initialValue) ? ", initialValue = " + initialValue : "")
-                    .append(")");
-        } else {
-            sequenceAnnotation.append(")");
-        }
-        jpaPrimaryKey.addAnnotation(sequenceAnnotation.toString());
-        if (!generatorAnnotation.isEmpty()) {
-            jpaPrimaryKey.addAnnotation(generatorAnnotation.toString());
+            // Add the @SequenceGenerator
+            generatorAnnotation = new JpaAnnotation(JPA + "SequenceGenerator")
+                    .addMember("name", string(PREFIX_GENERATOR + entityDef.getSimpleName()))
+                    .addMember("sequenceName", string(generatorName));
+            if (StringUtils.isNotBlank(allocationSize)) {
+                generatorAnnotation.addMember("allocationSize", literal(allocationSize));
+            }
+            if (StringUtils.isNotBlank(initialValue)) {
+                generatorAnnotation.addMember("initialValue", literal(initialValue));
+            }
         }
+        jpaPrimaryKey.addAnnotation(sequenceAnnotation);
+        jpaPrimaryKey.addAnnotation(generatorAnnotation);
     }
 
     private static void buildSeqHiloGenerator(final JpaEntity entityDef) {
         final JpaPrimaryKey jpaPrimaryKey = entityDef.getPrimaryKey();
 
-        final String sequenceAnnotation = "@javax.persistence.GeneratedValue(generator = \"" +
-                PREFIX_GENERATOR + entityDef.getSimpleName() + "\"" + ")";
-        jpaPrimaryKey.addAnnotation(sequenceAnnotation);
+        jpaPrimaryKey.addAnnotation(new JpaAnnotation(JPA + "GeneratedValue")
+                .addMember("generator", string(PREFIX_GENERATOR + entityDef.getSimpleName())));
 
-        final StringBuilder generatorAnnotation = new StringBuilder();
-        generatorAnnotation.append("@org.hibernate.annotations.GenericGenerator(name = \"" + PREFIX_GENERATOR)
-                .append(entityDef.getSimpleName())
-                .append("\",\n    strategy = \"org.hibernate.id.enhanced.SequenceStyleGenerator\"")
-                .append(",\n    parameters = {\n");
+        final List<JpaAnnotation> parameters = new ArrayList<>();
         if (StringUtils.isNotBlank(entityDef.getPrimaryKey().getGeneratorName())) {
-            generatorAnnotation.append("        @org.hibernate.annotations.Parameter(name = \"sequence_name\"");
-            generatorAnnotation.append(", value = \"").append(entityDef.getPrimaryKey().getGeneratorName());
-            generatorAnnotation.append("\"),\n");
+            parameters.add(buildParameter("sequence_name", entityDef.getPrimaryKey().getGeneratorName()));
         }
         if (StringUtils.isNotBlank(entityDef.getPrimaryKey().getInitialValue())) {
-            generatorAnnotation.append("        @org.hibernate.annotations.Parameter(name = \"initial_value\"");
-            generatorAnnotation.append(", value = \"").append(entityDef.getPrimaryKey().getInitialValue());
-            generatorAnnotation.append("\"),\n");
+            parameters.add(buildParameter("initial_value", entityDef.getPrimaryKey().getInitialValue()));
         }
         if (StringUtils.isNotBlank(entityDef.getPrimaryKey().getIncrementSize())) {
-            generatorAnnotation.append("        @org.hibernate.annotations.Parameter(name = \"increment_size\"");
-            generatorAnnotation.append(", value = \"").append(entityDef.getPrimaryKey().getIncrementSize());
-            generatorAnnotation.append("\"),\n");
-        }
-        generatorAnnotation.append("        @org.hibernate.annotations.Parameter(name = \"optimizer\"");
-        generatorAnnotation.append(", value = \"hilo\")\n");
-        generatorAnnotation.append("    }\n)");
-        jpaPrimaryKey.addAnnotation(generatorAnnotation.toString());
+            parameters.add(buildParameter("increment_size", entityDef.getPrimaryKey().getIncrementSize()));
+        }
+        parameters.add(buildParameter("optimizer", "hilo"));
+
+        jpaPrimaryKey.addAnnotation(new JpaAnnotation(HIBERNATE + "GenericGenerator").multiline()
+                .addMember("name", string(PREFIX_GENERATOR + entityDef.getSimpleName()))
+                .addMember("strategy", string("org.hibernate.id.enhanced.SequenceStyleGenerator"))
+                .addMember("parameters", multilineArray(annotations(parameters))));
     }
 
     private static void buildForeignGenerator(final JpaEntity entityDef) {
         final JpaPrimaryKey jpaPrimaryKey = entityDef.getPrimaryKey();
 
-        final String generatorAnnotation = "@org.hibernate.annotations.GenericGenerator(name = \""
-                                           + PREFIX_GENERATOR + entityDef.getSimpleName() + "\""
-                                           + ",\n    strategy = \"foreign\""
-                                           + ",\n    parameters = "
-                                           + "@org.hibernate.annotations.Parameter(name = \"property\""
-                                           + ", value = \"" + jpaPrimaryKey.getProperty() + "\")\n"
-                                           + ")";
-        jpaPrimaryKey.addAnnotation(generatorAnnotation);
+        jpaPrimaryKey.addAnnotation(new JpaAnnotation(HIBERNATE + "GenericGenerator").multiline()
+                .addMember("name", string(PREFIX_GENERATOR + entityDef.getSimpleName()))
+                .addMember("strategy", string("foreign"))
+                .addMember("parameters", annotation(buildParameter("property", jpaPrimaryKey.getProperty()))));
+    }
+
+    /**
+     * Builds a Hibernate {@code @Parameter}, as used by {@code @GenericGenerator} and {@code @Type}.
+     */
+    public static JpaAnnotation buildParameter(final String name, final String value) {
+        return new JpaAnnotation(HIBERNATE + "Parameter")
+                .addMember("name", string(name))
+                .addMember("value", string(value));
     }
 
     private void buildColumns(final JpaEntity entityDef) {
         for (final JpaColumn col : entityDef.getColumns()) {
             if (col.isEmbedded()) {
-                col.addAnnotation("@javax.persistence.Embedded");
+                col.addAnnotation(new JpaAnnotation(JPA + "Embedded"));
                 continue;
             }
 
             if (col.isVersion()) {
-                col.addAnnotation("@javax.persistence.Version");
+                col.addAnnotation(new JpaAnnotation(JPA + "Version"));
             }
 
             if (col.getNaturalId() != JpaColumn.NaturalId.NONE) {
-                col.addAnnotation("@org.hibernate.annotations.NaturalId" +
-                        (col.getNaturalId() == JpaColumn.NaturalId.MUTABLE ? "(mutable = true)" : ""));
+                col.addAnnotation(buildNaturalId(col));
             }
 
             if (col.isLazy()) {
-                col.addAnnotation("@javax.persistence.Basic(fetch = javax.persistence.FetchType.LAZY)");
+                col.addAnnotation(new JpaAnnotation(JPA + "Basic")
+                        .addMember("fetch", enumConstant(FETCH_TYPE, "LAZY")));
             }
 
             col.addAnnotation(buildColumn(col));
 
             if (!col.isOptimisticLock()) {
-                col.addAnnotation("@org.hibernate.annotations.OptimisticLock(excluded = true)");
+                col.addAnnotation(new JpaAnnotation(HIBERNATE + "OptimisticLock").addMember("excluded", literal(true)));
             }
         }
     }
 
-    private String buildColumn(final JpaColumn col) {
-        final StringBuilder columnAnnotation = new StringBuilder();
-        columnAnnotation.append("@javax.persistence.Column(");
+    private static JpaAnnotation buildNaturalId(final JpaColumn col) {
+        final JpaAnnotation naturalId = new JpaAnnotation(HIBERNATE + "NaturalId");
+        if (col.getNaturalId() == JpaColumn.NaturalId.MUTABLE) {
+            naturalId.addMember("mutable", literal(true));
+        }
+        return naturalId;
+    }
+
+    private JpaAnnotation buildColumn(final JpaColumn col) {
+        final JpaAnnotation columnAnnotation = new JpaAnnotation(JPA + "Column");
         if (StringUtils.isNotBlank(col.getTable())) {
-            columnAnnotation.append("table = \"").append(col.getTable()).append("\", ");
+            columnAnnotation.addMember("table", string(col.getTable()));
         }
-        columnAnnotation.append("name = \"").append(col.getColumnName()).append("\"");
+        columnAnnotation.addMember("name", string(col.getColumnName()));
 
         if (col.getLength() != null && col.getLength() != JpaColumn.DEFAULT_COLUMN_LENGTH) {
-            columnAnnotation.append(", length = ").append(col.getLength());
+            columnAnnotation.addMember("length", literal(col.getLength()));
         }
         if (!col.isNullable()) {
-            columnAnnotation.append(", nullable = false");
+            columnAnnotation.addMember("nullable", literal(false));
         }
         if (!col.isUpdatable()) {
-            columnAnnotation.append(", updatable = false");
+            columnAnnotation.addMember("updatable", literal(false));
         }
         if (col.isUnique()) {
-            columnAnnotation.append(", unique = true");
+            columnAnnotation.addMember("unique", literal(true));
         }
         if (StringUtils.isNotBlank(col.getColumnDefinition())) {
-            columnAnnotation.append(", columnDefinition = \"").append(col.getColumnDefinition()).append("\"");
+            columnAnnotation.addMember("columnDefinition", string(col.getColumnDefinition()));
         }
         if (col.getPrecision() != null && col.getPrecision() != 0) {
-            columnAnnotation.append(", precision = \"").append(col.getPrecision()).append("\"");
+            columnAnnotation.addMember("precision", string(String.valueOf(col.getPrecision())));
         }
         if (col.getScale() != null && col.getScale() != 0) {
-            columnAnnotation.append(", scale = \"").append(col.getScale()).append("\"");
+            columnAnnotation.addMember("scale", string(String.valueOf(col.getScale())));
         }
-
-        columnAnnotation.append(")");
-        return columnAnnotation.toString();
+        return columnAnnotation;
     }
 
     private void buildAttributeOverrides(final JpaEntity entityDef) {
         for (final JpaCompositeColumn compositeColumn : entityDef.getCompositeColumns()) {
-            final StringBuilder compositeAnnotation = new StringBuilder();
+            final JpaAnnotation compositeAnnotation;
             if (StringUtils.isNotBlank(compositeColumn.getType())) {
                 final String typeDef = Utils.toCamelCase(ClassNameUtils.getSimpleClassName(compositeColumn.getType()));
-                entityDef.addAnnotation("@org.hibernate.annotations.TypeDef(name = \"" + typeDef + "\", typeClass = " +
-                        compositeColumn.getType() + ".class)");
-                compositeColumn.addAnnotation("@org.hibernate.annotations.Type(type = \"" + typeDef + "\")");
-                compositeAnnotation.append("@org.hibernate.annotations.Columns(columns = {\n");
+                entityDef.addAnnotation(new JpaAnnotation(HIBERNATE + "TypeDef")
+                        .addMember("name", string(typeDef))
+                        .addMember("typeClass", classLiteral(compositeColumn.getType())));
+                compositeColumn.addAnnotation(new JpaAnnotation(HIBERNATE + "Type").addMember("type", string(typeDef)));
 
+                final List<JpaAnnotation> columns = new ArrayList<>();
                 for (final JpaColumn column : compositeColumn.getColumns()) {
-                    compositeAnnotation.append(buildColumn(column));
-                    compositeAnnotation.append(",\n");
+                    columns.add(buildColumn(column));
                 }
+                compositeAnnotation = new JpaAnnotation(HIBERNATE + "Columns")
+                        .addMember("columns", multilineArray(annotations(columns)));
             } else {
-                compositeAnnotation.append("@javax.persistence.AttributeOverrides({\n");
-
+                final List<JpaAnnotation> attributeOverrides = new ArrayList<>();
                 for (final JpaColumn column : compositeColumn.getColumns()) {
-                    compositeAnnotation.append("        @javax.persistence.AttributeOverride(name = \"");
-                    compositeAnnotation.append(Utils.toCamelCase(column.getColumnName()));
-                    compositeAnnotation.append("\", column = ");
-                    compositeAnnotation.append(buildColumn(column));
-                    compositeAnnotation.append("),\n");
+                    attributeOverrides.add(new JpaAnnotation(JPA + "AttributeOverride")
+                            .addMember("name", string(Utils.toCamelCase(column.getColumnName())))
+                            .addMember("column", annotation(buildColumn(column))));
                 }
+                compositeAnnotation = new JpaAnnotation(JPA + "AttributeOverrides",
+                        multilineArray(annotations(attributeOverrides)));
             }
-            compositeAnnotation.append("    })");
 
             if (!compositeColumn.isOptimisticLock()) {
-                compositeColumn.addAnnotation("@org.hibernate.annotations.OptimisticLock(excluded = true)");
+                compositeColumn.addAnnotation(new JpaAnnotation(HIBERNATE + "OptimisticLock")
+                        .addMember("excluded", literal(true)));
             }
-            compositeColumn.addAnnotation(compositeAnnotation.toString());
+            compositeColumn.addAnnotation(compositeAnnotation);
         }
     }
 
     private void buildRelationships(final JpaEntity entityDef) {
+        final List<String> joinedBags = new ArrayList<>();
         for (final JpaRelationship relationship : entityDef.getRelationships()) {
             if (Tags.TAG_MAP.equals(relationship.getCollectionType()) && !relationship.getReferencedColumns().isEmpty()) {
                 if (StringUtils.isNotBlank(relationship.getCompositeMapKey())) {
-                    relationship.addAnnotation("@javax.persistence.MapKeyClass(" +
-                                               relationship.getCompositeMapKey() + ".class)");
+                    relationship.addAnnotation(new JpaAnnotation(JPA + "MapKeyClass",
+                            classLiteral(relationship.getCompositeMapKey())));
                 } else {
-                    relationship.addAnnotation("@javax.persistence.MapKey(name = \"" +
-                            relationship.getReferencedColumns().get(0).getName() + "\")");
+                    relationship.addAnnotation(new JpaAnnotation(JPA + "MapKey")
+                            .addMember("name", string(relationship.getReferencedColumns().get(0).getName())));
                 }
             }
 
@@ -476,102 +486,74 @@ public class AnnotationBuilder {
                     "EAGER" : "LAZY";
 
             // Cascade Types
-            final String cascadeTypes = HibernateUtils.convertCascadeTypes(relationship.getCascade());
-            final StringBuilder cascade = new StringBuilder();
-            if (!cascadeTypes.isEmpty()) {
-                cascade.append("cascade = {").append(cascadeTypes).append("}, ");
-                if (relationship.getCascade().contains("delete-orphan")) {
-                    cascade.append("orphanRemoval = true, ");
-                }
+            final List<JpaAnnotation.Value> cascadeTypes = new ArrayList<>();
+            for (final String cascadeType : HibernateUtils.convertCascadeTypes(relationship.getCascade())) {
+                cascadeTypes.add(enumConstant(JPA + "CascadeType", cascadeType));
             }
+            final boolean orphanRemoval = !cascadeTypes.isEmpty() && relationship.getCascade().contains("delete-orphan");
 
             JpaColumn referencedColumn = null;
-            final StringBuilder joinColumn = new StringBuilder();
+            JpaAnnotation joinColumn = null;
             if (relationship.getReferencedColumns() != null && !relationship.getReferencedColumns().isEmpty()) {
                 referencedColumn = relationship.getReferencedColumns().get(0);
-                joinColumn.append("@javax.persistence.JoinColumn(");
+                joinColumn = new JpaAnnotation(JPA + "JoinColumn");
                 if (StringUtils.isNotBlank(entityDef.getSecondTable())) {
-                    joinColumn.append("table = \"").append(entityDef.getSecondTable()).append("\", ");
+                    joinColumn.addMember("table", string(entityDef.getSecondTable()));
+                }
+                joinColumn.addMember("name", string(referencedColumn.getColumnName()));
+                if (!referencedColumn.isUpdatable()) {
+                    joinColumn.addMember("updatable", literal(false));
+                }
+                if (!referencedColumn.isNullable()) {
+                    joinColumn.addMember("nullable", literal(false));
+                }
+                if (referencedColumn.isUnique()) {
+                    joinColumn.addMember("unique", literal(true));
+                }
+                if (StringUtils.isNotBlank(referencedColumn.getForeignKey())) {
+                    joinColumn.addMember("foreignKey", annotation(buildForeignKey(referencedColumn)));
                 }
-                joinColumn.append("name = \"").append(referencedColumn.getColumnName()).append("\"")
-                        .append(!referencedColumn.isUpdatable() ? ", updatable = false" : "")
-                        .append(!referencedColumn.isNullable() ? ", nullable = false" : "")
-                        .append(referencedColumn.isUnique() ? ", unique = true" : "")
-                        .append(StringUtils.isNotBlank(referencedColumn.getForeignKey()) ?
-                                ", foreignKey = @javax.persistence.ForeignKey(name = \"" +
-                                referencedColumn.getForeignKey() + "\")" : "")
-                        .append(")");
             }
 
             if (referencedColumn != null && referencedColumn.getNaturalId() != JpaColumn.NaturalId.NONE) {
-                relationship.addAnnotation("@org.hibernate.annotations.NaturalId" +
-                        (referencedColumn.getNaturalId() == JpaColumn.NaturalId.MUTABLE ? "(mutable = true)" : ""));
+                relationship.addAnnotation(buildNaturalId(referencedColumn));
             }
 
-            final StringBuilder relationshipAnnotation = new StringBuilder();
+            final JpaAnnotation relationshipAnnotation;
 
             // Generate the appropriate relationship annotation
             switch (relationship.getRelationshipType()) {
                 case ManyToOne:
                     if (StringUtils.isNotBlank(relationship.getAccess())) {
-                        relationship.addAnnotation("@javax.persistence.Access(javax.persistence.AccessType." +
-                                relationship.getAccess().toUpperCase() + ")");
+                        relationship.addAnnotation(new JpaAnnotation(JPA + "Access",
+                                enumConstant(JPA + "AccessType", relationship.getAccess().toUpperCase())));
                     }
-                    relationshipAnnotation.append("@javax.persistence.ManyToOne(");
+                    relationshipAnnotation = new JpaAnnotation(JPA + "ManyToOne");
                     // EAGER fetch is default for OneToMany
                     if (!"EAGER".equals(fetchType)) {
-                        relationshipAnnotation.append("fetch = javax.persistence.FetchType.").append(fetchType).append(", ");
-                    }
-                    if (!cascade.isEmpty()) {
-                        relationshipAnnotation.append(cascade);
+                        relationshipAnnotation.addMember("fetch", enumConstant(FETCH_TYPE, fetchType));
                     }
+                    addCascade(relationshipAnnotation, cascadeTypes, orphanRemoval);
                     if (referencedColumn != null && !referencedColumn.isNullable()) {
-                        relationshipAnnotation.append("optional = false, ");
-                    }
-                    if (relationshipAnnotation.charAt(relationshipAnnotation.length()-2) == ',') {
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 2); // remove last comma
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 1); // remove last space
-                    }
-                    relationshipAnnotation.append(")");
-                    relationship.addAnnotation(relationshipAnnotation.toString());
-
-                    if (!joinColumn.isEmpty()) {
-                        relationship.addAnnotation(joinColumn.toString());
+                        relationshipAnnotation.addMember("optional", literal(false));
                     }
+                    relationship.addAnnotation(relationshipAnnotation);
+                    relationship.addAnnotation(joinColumn);
                     break;
 
                 case OneToMany:
-                    relationshipAnnotation.append("@javax.persistence.OneToMany(");
+                    relationshipAnnotation = new JpaAnnotation(JPA + "OneToMany");
                     // LAZY fetch is default for OneToMany
                     if (!"LAZY".equals(fetchType)) {
-                        relationshipAnnotation.append("fetch = javax.persistence.FetchType.").append(fetchType).append(", ");
-                    }
-                    if (!cascade.isEmpty()) {
-                        relationshipAnnotation.append(cascade);
+                        relationshipAnnotation.addMember("fetch", enumConstant(FETCH_TYPE, fetchType));
                     }
+                    addCascade(relationshipAnnotation, cascadeTypes, orphanRemoval);
                     if (relationship.isInverse()) {
-                        String mappedBy = relationship.getMappedBy();
-                        if (StringUtils.isBlank(mappedBy)) {
-                            mappedBy = JavaParserUtils.findVariableNameByType(outputFolder,
-                                    relationship.getReturnType(), entityDef.getSimpleName());
-                            if (StringUtils.isBlank(mappedBy)) {
-                                mappedBy = Utils.toCamelCase(entityDef.getSimpleName());
-                                LOG.warn(String.format(
-                                        "Please check the correct name of (mappedBy = \"%s\") in the field '%s' of %s",
-                                        mappedBy, relationship.getName(), entityDef.getSimpleName()));
-                            }
-                        }
-                        relationshipAnnotation.append("mappedBy = \"").append(mappedBy).append("\", ");
-                    } else if (!joinColumn.isEmpty()) {
-                        relationship.addAnnotation(joinColumn.toString());
-                    }
-
-                    if (relationshipAnnotation.charAt(relationshipAnnotation.length()-2) == ',') {
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 2); // remove last comma
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 1); // remove last space
+                        relationshipAnnotation.addMember("mappedBy", string(getMappedBy(entityDef, relationship)));
+                    } else {
+                        relationship.addAnnotation(joinColumn);
                     }
-                    relationshipAnnotation.append(")");
-                    relationship.addAnnotation(relationshipAnnotation.toString());
+                    relationship.addAnnotation(relationshipAnnotation);
                     break;
 
                 case OneToOne:
@@ -579,110 +561,87 @@ public class AnnotationBuilder {
                             "FOREIGN".equals(entityDef.getPrimaryKey().getGeneratorType()) &&
                             relationship.getName().equals(entityDef.getPrimaryKey().getProperty());
                     if (isMapsIdGenerator) {
-                        relationship.addAnnotation("@javax.persistence.MapsId");
-                        relationship.addAnnotation("@javax.persistence.JoinColumn(name = \"" +
-                                                   entityDef.getPrimaryKey().getColumnName() + "\")");
+                        relationship.addAnnotation(new JpaAnnotation(JPA + "MapsId"));
+                        relationship.addAnnotation(new JpaAnnotation(JPA + "JoinColumn")
+                                .addMember("name", string(entityDef.getPrimaryKey().getColumnName())));
                     }
-                    relationshipAnnotation.append("@javax.persistence.OneToOne(");
+                    relationshipAnnotation = new JpaAnnotation(JPA + "OneToOne");
                     if (!"EAGER".equals(fetchType)) {
-                        relationshipAnnotation.append("fetch = javax.persistence.FetchType.").append(fetchType).append(", ");
+                        relationshipAnnotation.addMember("fetch", enumConstant(FETCH_TYPE, fetchType));
                     }
                     if (!relationship.isOptional()) {
-                        relationshipAnnotation.append("optional = false, ");
-                    }
-                    if (joinColumn.isEmpty() && !isMapsIdGenerator) {
-                        String mappedBy = relationship.getMappedBy();
-                        if (StringUtils.isBlank(mappedBy)) {
-                            mappedBy = JavaParserUtils.findVariableNameByType(outputFolder,
-                                    relationship.getReturnType(), entityDef.getSimpleName());
-                            if (StringUtils.isBlank(mappedBy)) {
-                                mappedBy = Utils.toCamelCase(entityDef.getSimpleName());
-                                LOG.warn(String.format(
-                                        "Please check the correct name of (mappedBy = \"%s\") in the field '%s' of %s",
-                                        mappedBy, relationship.getName(), entityDef.getSimpleName()));
-                            }
-                        }
-                        relationshipAnnotation.append("mappedBy = \"").append(mappedBy).append("\", ");
+                        relationshipAnnotation.addMember("optional", literal(false));
                     }
-                    if (!cascade.isEmpty()) {
-                        relationshipAnnotation.append(cascade);
-                    }
-                    if (relationshipAnnotation.charAt(relationshipAnnotation.length()-2) == ',') {
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 2); // remove last comma
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 1); // remove last space
-                    }
-                    relationshipAnnotation.append(")");
-                    relationship.addAnnotation(relationshipAnnotation.toString());
-
-                    if (!joinColumn.isEmpty()) {
-                        relationship.addAnnotation(joinColumn.toString());
+                    if (joinColumn == null && !isMapsIdGenerator) {
+                        relationshipAnnotation.addMember("mappedBy", string(getMappedBy(entityDef, relationship)));
                     }
+                    addCascade(relationshipAnnotation, cascadeTypes, orphanRemoval);
+                    relationship.addAnnotation(relationshipAnnotation);
+                    relationship.addAnnotation(joinColumn);
                     break;
 
                 case ManyToMany:
-                    relationshipAnnotation.append("@javax.persistence.ManyToMany(");
+                    relationshipAnnotation = new JpaAnnotation(JPA + "ManyToMany");
                     // LAZY fetch is default for ManyToMany
                     if (!"LAZY".equals(fetchType)) {
-                        relationshipAnnotation.append("fetch = javax.persistence.FetchType.").append(fetchType).append(", ");
-                    }
-                    relationshipAnnotation.append(StringUtils.isNotBlank(cascade) ? cascade : "");
-                    if (relationshipAnnotation.charAt(relationshipAnnotation.length()-2) == ',') {
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 2); // remove last comma
-                        relationshipAnnotation.deleteCharAt(relationshipAnnotation.length() - 1); // remove last space
+                        relationshipAnnotation.addMember("fetch", enumConstant(FETCH_TYPE, fetchType));
                     }
-                    relationshipAnnotation.append(")");
-                    relationship.addAnnotation(relationshipAnnotation.toString());
+                    addCascade(relationshipAnnotation, cascadeTypes, orphanRemoval);
+                    relationship.addAnnotation(relationshipAnnotation);
 
                     if (relationship.getReferencedColumns() != null && !relationship.getReferencedColumns().isEmpty()) {
-                        final StringBuilder joinAnnotation = new StringBuilder();
-                        joinAnnotation.append("@javax.persistence.JoinTable(\n");
-                        joinAnnotation.append("        name = \"").append(relationship.getTable()).append("\",\n");
-
-                        if (relationship.getReferencedColumns().stream().anyMatch(jpaColumn -> !jpaColumn.isInverseJoin())) {
-                            joinAnnotation.append("        joinColumns = {\n");
-                            for (final JpaColumn column : relationship.getReferencedColumns()) {
-                                if (!column.isInverseJoin()) {
-                                    joinAnnotation.append("            @javax.persistence.JoinColumn(name = \"").append(
-                                                    column.getColumnName())
-                                            .append("\"");
-                                    joinAnnotation.append(!column.isUpdatable() ? ", updatable = false" : "")
-                                            .append(!column.isNullable() ? ", nullable = false" : "")
-                                            .append(StringUtils.isNotBlank(column.getForeignKey()) ?
-                                                    ", foreignKey = @javax.persistence.ForeignKey(name = \"" + column.getForeignKey()
-                                                            + "\")" : "");
-                                    joinAnnotation.append(")\n");
-                                }
+                        final JpaAnnotation joinAnnotation = new JpaAnnotation(JPA + "JoinTable").multiline()
+                                .addMember("name", string(relationship.getTable()));
+
+                        final List<JpaAnnotation> joinColumns = new ArrayList<>();
+                        final List<JpaAnnotation> inverseJoinColumns = new ArrayList<>();
+                        for (final JpaColumn column : relationship.getReferencedColumns()) {
+                            final JpaAnnotation columnAnnotation = new JpaAnnotation(JPA + "JoinColumn")
+                                    .addMember("name", string(column.getColumnName()));
+                            if (!column.isUpdatable()) {
+                                columnAnnotation.addMember("updatable", literal(false));
                             }
-                            joinAnnotation.append("        },\n");
-                        }
-
-                        if (relationship.getReferencedColumns().stream().anyMatch(JpaColumn::isInverseJoin)) {
-                            joinAnnotation.append("        inverseJoinColumns = {\n");
-                            for (final JpaColumn column : relationship.getReferencedColumns()) {
-                                if (column.isInverseJoin()) {
-                                    joinAnnotation.append("            @javax.persistence.JoinColumn(name = \"").append(
-                                                    column.getColumnName())
-                                            .append("\"");
-                                    joinAnnotation.append(!column.isUpdatable() ? ", updatable = false" : "")
-                                            .append(!column.isNullable() ? ", nullable = false" : "")
-                                            .append(StringUtils.isNotBlank(column.getForeignKey()) ?
-                                                    ", foreignKey = @javax.persistence.ForeignKey(name = \"" + column.getForeignKey()
-                                                            + "\")" : "");
-                                    joinAnnotation.append(")\n");
-                                }
+                            if (!column.isNullable()) {
+                                columnAnnotation.addMember("nullable", literal(false));
+                            }
+                            if (StringUtils.isNotBlank(column.getForeignKey())) {
+                                columnAnnotation.addMember("foreignKey", annotation(buildForeignKey(column)));
                             }
-                            joinAnnotation.append("        }\n");
+                            (column.isInverseJoin() ? inverseJoinColumns : joinColumns).add(columnAnnotation);
+                        }
+                        if (!joinColumns.isEmpty()) {
+                            joinAnnotation.addMember("joinColumns", multilineArray(annotations(joinColumns)));
                         }
-                        joinAnnotation.append(")");
-                        relationship.addAnnotation(joinAnnotation.toString());
+                        if (!inverseJoinColumns.isEmpty()) {
+                            joinAnnotation.addMember("inverseJoinColumns",
+                                    multilineArray(annotations(inverseJoinColumns)));
+                        }
+                        relationship.addAnnotation(joinAnnotation);
                     }
                     break;
             }
 
+            final String fetchMode = getFetchMode(relationship, fetchType);
+            if (fetchMode != null) {
+                relationship.addAnnotation(new JpaAnnotation(HIBERNATE + "Fetch",
+                        enumConstant(HIBERNATE + "FetchMode", fetchMode)));
+            }
+            if (relationship.getCollectionType() != null && relationship.getLazy() == JpaRelationship.Lazy.EXTRA) {
+                relationship.addAnnotation(new JpaAnnotation(HIBERNATE + "LazyCollection",
+                        enumConstant(HIBERNATE + "LazyCollectionOption", "EXTRA")));
+            }
+            if (Tags.TAG_BAG.equals(relationship.getCollectionType()) &&
+                    (fetchMode != null ? "JOIN".equals(fetchMode) : "EAGER".equals(fetchType))) {
+                joinedBags.add(relationship.getName());
+            }
+
             // Cascade Types
-            final String hibernateCascadeTypes = HibernateUtils.convertHibernateCascadeTypes(relationship.getCascade());
+            final List<JpaAnnotation.Value> hibernateCascadeTypes = new ArrayList<>();
+            for (final String cascadeType : HibernateUtils.convertHibernateCascadeTypes(relationship.getCascade())) {
+                hibernateCascadeTypes.add(enumConstant(HIBERNATE + "CascadeType", cascadeType));
+            }
             if (!hibernateCascadeTypes.isEmpty()) {
-                relationship.addAnnotation("@org.hibernate.annotations.Cascade({" + hibernateCascadeTypes + "})");
+                relationship.addAnnotation(new JpaAnnotation(HIBERNATE + "Cascade", array(hibernateCascadeTypes)));
             }
 
             if (StringUtils.isNotBlank(relationship.getOrderBy())) {
@@ -694,13 +653,103 @@ public class AnnotationBuilder {
                         break;
                     }
                 }
-                relationship.addAnnotation("@javax.persistence.OrderBy(\"" + orderBy + "\")");
+                relationship.addAnnotation(new JpaAnnotation(JPA + "OrderBy", string(orderBy)));
             }
 
             if (StringUtils.isNotBlank(relationship.getListIndex())) {
-                relationship.addAnnotation("@javax.persistence.OrderColumn(name = \"" + relationship.getListIndex() + "\")");
+                relationship.addAnnotation(new JpaAnnotation(JPA + "OrderColumn")
+                        .addMember("name", string(relationship.getListIndex())));
+            }
+
+            if (relationship.getCache() != null) {
+                relationship.addAnnotation(buildCache(relationship.getCache(),
+                        entityDef.getSimpleName() + "." + relationship.getName()));
+            }
+
+            if (relationship.getBatchSize() > 0) {
+                relationship.addAnnotation(buildBatchSize(relationship.getBatchSize()));
             }
         }
+
+        if (joinedBags.size() > 1) {
+            LOG.warn(String.format(
+                    "The bags %s of %s are fetched with joins, which loads their cartesian product " +
+                    "(Hibernate refuses to fetch several bags at once): please map them as sets or lists, " +
+                    "or fetch them with selects", joinedBags, entityDef.getSimpleName()));
+        }
+    }
+
+    /**
+     * @return the Hibernate fetch mode of the HBM relationship, or null if it's the default of its fetch type
+     * (JOIN when EAGER, SELECT when LAZY)
+     */
+    private static String getFetchMode(final JpaRelationship relationship, final String fetchType) {
+        if (StringUtils.isBlank(relationship.getFetchMode())) {
+            return null;
+        }
+        final String fetchMode = switch (relationship.getFetchMode()) {
+            case "join" -> "JOIN";
+            case "select" -> "SELECT";
+            case "subselect" -> "SUBSELECT";
+            default -> null;
+        };
+        final String defaultFetchMode = "EAGER".equals(fetchType) ? "JOIN" : "SELECT";
+        return defaultFetchMode.equals(fetchMode) ? null : fetchMode;
+    }
+
+    /**
+     * @param owner the entity or collection cached, for the warning when the usage is unknown
+     * @return the Hibernate {@code @Cache} of the cache settings, or null if their usage is unknown
+     */
+    private static JpaAnnotation buildCache(final JpaCache cache, final String owner) {
+        final String strategy = cache.getConcurrencyStrategy();
+        if (strategy == null) {
+            LOG.warn(String.format("Unknown cache usage '%s' of %s, no @Cache generated",
+                    StringUtils.defaultString(cache.getUsage()), owner));
+            return null;
+        }
+
+        final JpaAnnotation cacheAnnotation = new JpaAnnotation(HIBERNATE + "Cache")
+                .addMember("usage", enumConstant(HIBERNATE + "CacheConcurrencyStrategy", strategy));
+        if (StringUtils.isNotBlank(cache.getRegion())) {
+            cacheAnnotation.addMember("region", string(cache.getRegion()));
+        }
+        if (!JpaCache.DEFAULT_INCLUDE.equals(cache.getInclude())) {
+            cacheAnnotation.addMember("include", string(cache.getInclude()));
+        }
+        return cacheAnnotation;
+    }
+
+    private static JpaAnnotation buildBatchSize(final int batchSize) {
+        return new JpaAnnotation(HIBERNATE + "BatchSize").addMember("size", literal(batchSize));
+    }
+
+    private static JpaAnnotation buildForeignKey(final JpaColumn column) {
+        return new JpaAnnotation(JPA + "ForeignKey").addMember("name", string(column.getForeignKey()));
+    }
+
+    private static void addCascade(final JpaAnnotation relationshipAnnotation,
+            final List<JpaAnnotation.Value> cascadeTypes, final boolean orphanRemoval) {
+        if (!cascadeTypes.isEmpty()) {
+            relationshipAnnotation.addMember("cascade", array(cascadeTypes));
+            if (orphanRemoval) {
+                relationshipAnnotation.addMember("orphanRemoval", literal(true));
+            }
+        }
+    }
+
+    private String getMappedBy(final JpaEntity entityDef, final JpaRelationship relationship) {
+        String mappedBy = relationship.getMappedBy();
+        if (StringUtils.isBlank(mappedBy)) {
+            mappedBy = fieldTypeIndex.findFieldNameByType(relationship.getReturnType(), entityDef.getSimpleName());
+            if (StringUtils.isBlank(mappedBy)) {
+                mappedBy = Utils.toCamelCase(entityDef.getSimpleName());
+                LOG.warn(String.format(
+                        "Please check the correct name of (mappedBy = \"%s\") in the field '%s' of %s",
+                        mappedBy, relationship.getName(), entityDef.getSimpleName()));
+            }
+        }
+        return mappedBy;
     }
 
     private void buildEmbedded(final JpaEntity entityDef) {
@@ -710,58 +759,44 @@ public class AnnotationBuilder {
     }
 
     private void buildQueries(final JpaEntity jpaEntity) {
-        if (!jpaEntity.getNamedQueries().stream().filter(jpaNamedQuery -> !jpaNamedQuery.isNativeQuery()).toList().isEmpty()) {
-            final StringBuilder queryAnnotation = new StringBuilder();
-            queryAnnotation.append("@javax.persistence.NamedQueries({\n");
-            for (final JpaNamedQuery namedQuery : jpaEntity.getNamedQueries()) {
-                if (!namedQuery.isNativeQuery()) {
-                    queryAnnotation.append("    @javax.persistence.NamedQuery(name = \"").append(namedQuery.getName()).append("\",\n");
-                    queryAnnotation.append("        query = \"\"\"").append(namedQuery.getQuery().trim()).append(
-                            "\"\"\"),\n\n");
-                }
+        final List<JpaAnnotation> queries = new ArrayList<>();
+        for (final JpaNamedQuery namedQuery : jpaEntity.getNamedQueries()) {
+            if (!namedQuery.isNativeQuery()) {
+                queries.add(new JpaAnnotation(JPA + "NamedQuery").multiline()
+                        .addMember("name", string(namedQuery.getName()))
+                        .addMember("query", textBlock(namedQuery.getQuery().trim())));
             }
-            queryAnnotation.append("})\n");
-            jpaEntity.addAnnotation(queryAnnotation.toString());
+        }
+        if (!queries.isEmpty()) {
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "NamedQueries", multilineArray(annotations(queries))));
         }
     }
 
     private void buildNativeQueries(final JpaEntity jpaEntity) {
-        if (!jpaEntity.getNamedQueries().stream().filter(JpaNamedQuery::isNativeQuery).toList().isEmpty()) {
-            StringBuilder annotation = new StringBuilder();
-            annotation.append("@javax.persistence.NamedNativeQueries({\n");
-            for (final JpaNamedQuery namedQuery : jpaEntity.getNamedQueries()) {
-                if (namedQuery.isNativeQuery()) {
-                    annotation.append("    @javax.persistence.NamedNativeQuery(name = \"").append(namedQuery.getName()).append("\",\n");
-                    annotation.append("        query = \"\"\"").append(namedQuery.getQuery().trim()).append(
-                            "\"\"\",\n");
-                    annotation.append("        resultSetMapping = \"").append(namedQuery.getName()).append("\"),\n\n");
-                }
-            }
-            annotation.append("})\n");
-            jpaEntity.addAnnotation(annotation.toString());
-
-            if (!jpaEntity.getNamedQueries().stream().filter(JpaNamedQuery::isNativeQuery).toList().isEmpty()) {
-                annotation = new StringBuilder();
-                annotation.append("@javax.persistence.SqlResultSetMappings({\n");
-                for (final JpaNamedQuery namedQuery : jpaEntity.getNamedQueries()) {
-                    if (namedQuery.isNativeQuery()) {
-                        annotation.append("    @javax.persistence.SqlResultSetMapping(name = \"").append(namedQuery.getName()).append(
-                                "\",\n");
-                        annotation.append("        columns = {\n");
-
-                        for (final JpaColumn column : namedQuery.getReturnColumns()) {
-                            annotation.append("            @javax.persistence.ColumnResult(name = \"").append(column.getColumnName())
-                                    .append(
-                                            "\",");
-                            annotation.append(" type = ").append(HibernateUtils.mapHibernateTypeToJava(column.getType())).append(
-                                    ".class),\n");
-                        }
-                        annotation.append("        }),\n");
-                    }
+        final List<JpaAnnotation> queries = new ArrayList<>();
+        final List<JpaAnnotation> resultSetMappings = new ArrayList<>();
+        for (final JpaNamedQuery namedQuery : jpaEntity.getNamedQueries()) {
+            if (namedQuery.isNativeQuery()) {
+                queries.add(new JpaAnnotation(JPA + "NamedNativeQuery").multiline()
+                        .addMember("name", string(namedQuery.getName()))
+                        .addMember("query", textBlock(namedQuery.getQuery().trim()))
+                        .addMember("resultSetMapping", string(namedQuery.getName())));
+
+                final List<JpaAnnotation> columns = new ArrayList<>();
+                for (final JpaColumn column : namedQuery.getReturnColumns()) {
+                    columns.add(new JpaAnnotation(JPA + "ColumnResult")
+                            .addMember("name", string(column.getColumnName()))
+                            .addMember("type", classLiteral(HibernateUtils.mapHibernateTypeToJava(column.getType()))));
                 }
-                annotation.append("})\n");
-                jpaEntity.addAnnotation(annotation.toString());
+                resultSetMappings.add(new JpaAnnotation(JPA + "SqlResultSetMapping").multiline()
+                        .addMember("name", string(namedQuery.getName()))
+                        .addMember("columns", multilineArray(annotations(columns))));
             }
         }
+        if (!queries.isEmpty()) {
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "NamedNativeQueries", multilineArray(annotations(queries))));
+            jpaEntity.addAnnotation(new JpaAnnotation(JPA + "SqlResultSetMappings",
+                    multilineArray(annotations(resultSetMappings))));
+        }
     }
 }
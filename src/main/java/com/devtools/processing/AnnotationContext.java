@@ -0,0 +1,82 @@
+package com.devtools.processing;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.devtools.utils.FileUtils;
+
+/**
+ * State of an annotate run shared by the entities: the classes already processed with their parent class, the fields
+ * annotated in each class, and the fields to ignore (read from {@value #IGNORE_PROPERTIES}).
+ *
+ * <p>A new context is used for each run, so several conversions can run in the same JVM. It's safe to use from
+ * several threads.</p>
+ */
+public class AnnotationContext {
+
+    private static final String IGNORE_PROPERTIES = "ignore.properties";
+
+    // Parent class of each processed class, by their simple names (absent for the classes without parent)
+    private final Map<String, String> parentClasses = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> processedFields = new ConcurrentHashMap<>();
+    // Fields to ignore by class, and all of them whatever their class
+    private final Map<String, Set<String>> ignoredFields;
+    private final Set<String> allIgnoredFields;
+
+    public AnnotationContext() {
+        this(FileUtils.readPropertiesFile(IGNORE_PROPERTIES));
+    }
+
+    public AnnotationContext(final Map<String, Set<String>> ignoredFields) {
+        this.ignoredFields = Map.copyOf(ignoredFields);
+        final Set<String> allFields = new HashSet<>();
+        ignoredFields.values().forEach(allFields::addAll);
+        this.allIgnoredFields = Collections.unmodifiableSet(allFields);
+    }
+
+    /**
+     * Marks a class as processed.
+     *
+     * @param className the simple name of the class
+     * @param parentClassName the simple name of its parent class, or null if it has none (or was not found)
+     */
+    public void setProcessed(final String className, final String parentClassName) {
+        if (parentClassName != null) {
+            parentClasses.put(className, parentClassName);
+        } else {
+            parentClasses.remove(className);
+        }
+    }
+
+    /**
+     * @return the simple name of the parent class of a processed class, or null if it has none
+     */
+    public String getParentClass(final String className) {
+        return parentClasses.get(className);
+    }
+
+    public void addProcessedField(final String className, final String fieldName) {
+        processedFields.computeIfAbsent(className, key -> ConcurrentHashMap.newKeySet()).add(fieldName);
+    }
+
+    /**
+     * @return the fields already annotated in a class
+     */
+    public Set<String> getProcessedFields(final String className) {
+        return processedFields.getOrDefault(className, Collections.emptySet());
+    }
+
+    public boolean isIgnoredClass(final String className) {
+        return ignoredFields.containsKey(className);
+    }
+
+    /**
+     * @return the fields ignored in any class
+     */
+    public Set<String> getIgnoredFields() {
+        return allIgnoredFields;
+    }
+}
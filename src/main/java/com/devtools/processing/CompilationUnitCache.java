@@ -0,0 +1,204 @@
+package com.devtools.processing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.devtools.utils.FileUtils;
+import com.devtools.utils.JavaParserUtils;
+import com.devtools.utils.MemoizingTypeSolver;
+import com.devtools.utils.SourceIndex;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * Compilation units of the existing Java source files, parsed at most once per run.
+ *
+ * <p>Every entity touching a source file (e.g. a parent class shared by several entities) changes the same
+ * compilation unit in memory and marks it as dirty. The dirty units are written once, at the end of the run,
+ * by {@link #writeDirty()}.</p>
+ *
+ * <p>The parsers share a single configuration and type solver, so the symbols resolved in a file are not
+ * resolved again in the next ones.</p>
+ *
+ * <p>The cache can be used from several threads, each file being parsed once. A compilation unit itself is not
+ * thread-safe: the callers make sure it's only changed by one thread at a time.</p>
+ */
+public class CompilationUnitCache {
+
+    private static final Log LOG = LogFactory.getLog(CompilationUnitCache.class);
+
+    private final SourceIndex sourceIndex;
+    private final ConversionReport report;
+    private final ParserConfiguration parserConfiguration;
+    // JavaParser is not thread-safe, each thread has its own one, all sharing the same configuration and type solver
+    private final ThreadLocal<JavaParser> parsers;
+
+    // Parsed compilation units by the path of their source file
+    private final Map<Path, CompilationUnit> compilationUnits = new ConcurrentHashMap<>();
+    private final Set<Path> dirtyPaths = ConcurrentHashMap.newKeySet();
+    private final Map<Path, JavaFileParsedEvent> parsedEvents = new ConcurrentHashMap<>();
+
+    public CompilationUnitCache(final String sourceFolder, final SourceIndex sourceIndex,
+            final ConversionReport report) {
+        this(sourceFolder, sourceIndex, JavaParserUtils.newClasspathTypeSolver(), report);
+    }
+
+    /**
+     * @param classpathTypeSolver the type solver of the classes of the JRE, which can be kept from one run to the next
+     */
+    public CompilationUnitCache(final String sourceFolder, final SourceIndex sourceIndex,
+            final MemoizingTypeSolver classpathTypeSolver, final ConversionReport report) {
+        this.sourceIndex = sourceIndex;
+        this.report = report;
+        this.parserConfiguration = JavaParserUtils.newParserConfiguration(
+                JavaParserUtils.newTypeSolver(Paths.get(sourceFolder), classpathTypeSolver));
+        this.parsers = ThreadLocal.withInitial(() -> new JavaParser(parserConfiguration));
+    }
+
+    /**
+     * Gets the compilation unit of a class, parsing its source file if not done yet.
+     *
+     * @param fullClassName the full name of the class
+     * @return the compilation unit, or null if the source file of the class was not found
+     * @throws IOException if the source file can't be read
+     */
+    public CompilationUnit get(final String fullClassName) throws IOException {
+        final CompilationUnit cu = find(fullClassName);
+        if (cu == null) {
+            LOG.warn("Java class not found for " + fullClassName);
+        }
+        return cu;
+    }
+
+    /**
+     * Same as {@link #get(String)}, without warning when the source file of the class is not found.
+     */
+    public CompilationUnit find(final String fullClassName) throws IOException {
+        final String classPath = sourceIndex.find(fullClassName);
+        if (classPath == null) {
+            return null;
+        }
+
+        try {
+            return compilationUnits.computeIfAbsent(Paths.get(classPath), path -> {
+                try {
+                    return parse(fullClassName, path);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private CompilationUnit parse(final String fullClassName, final Path path) throws IOException {
+        final ConversionReport.Sample sample = ConversionReport.start();
+        final JavaFileParsedEvent event = new JavaFileParsedEvent();
+        event.begin();
+        final CompilationUnit cu = JavaParserUtils.parseJava(parsers.get(), path);
+        event.end();
+        report.record(ConversionReport.PHASE_JAVA_PARSE, sample, 1);
+
+        if (event.shouldCommit()) {
+            event.className = fullClassName;
+            event.path = path.toString();
+            event.bytes = Files.size(path);
+            // Committed once the symbols of the file are resolved
+            parsedEvents.put(path, event);
+        }
+        return cu;
+    }
+
+    /**
+     * Completes the JFR event of the parsing of a compilation unit with the time spent resolving its symbols.
+     */
+    public void recordSymbolResolution(final CompilationUnit cu, final long nanos) {
+        final JavaFileParsedEvent event = parsedEvents.remove(cu.getStorage().orElseThrow().getPath());
+        if (event != null) {
+            event.symbolResolutionTime = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Marks a compilation unit as changed, so it's written by {@link #writeDirty()}.
+     */
+    public void markDirty(final CompilationUnit cu) {
+        dirtyPaths.add(cu.getStorage().orElseThrow().getPath());
+    }
+
+    /**
+     * Writes the changed compilation units back to their source files, each one once. A file that can't be written
+     * is reported and doesn't prevent the other ones from being written.
+     *
+     * @return the number of files written, the ones whose content didn't change being left as is
+     */
+    public int writeDirty() {
+        int written = 0;
+        // Written in path order, whatever the order the files were parsed in
+        for (final Map.Entry<Path, CompilationUnit> entry : new TreeMap<>(compilationUnits).entrySet()) {
+            final Path path = entry.getKey();
+            final boolean dirty = dirtyPaths.contains(path);
+
+            final JavaFileWrittenEvent event = new JavaFileWrittenEvent();
+            event.begin();
+            int bytes = 0;
+            boolean changed = false;
+            if (dirty) {
+                final ConversionReport.Sample sample = ConversionReport.start();
+                try {
+                    final byte[] content = entry.getValue().toString().getBytes(StandardCharsets.UTF_8);
+                    // Annotations already there: the file is left as is, keeping its modification time
+                    if (FileUtils.hasContent(path, content, 0)) {
+                        LOG.debug("Unchanged class, not written: " + path);
+                    } else {
+                        LOG.info("Writing class: " + path);
+                        Files.write(path, content);
+                        bytes = content.length;
+                        changed = true;
+                        written++;
+                    }
+                    report.countWrite(changed);
+                } catch (final IOException e) {
+                    LOG.error("Failed to write class: " + path, e);
+                }
+                report.record(ConversionReport.PHASE_WRITE, sample, 1);
+            }
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.bytes = bytes;
+                event.changed = changed;
+                event.commit();
+            }
+        }
+
+        dirtyPaths.clear();
+        return written;
+    }
+
+    /**
+     * Commits the JFR events of the parsed files whose symbols were never resolved (e.g. files only looked up
+     * by the {@link FieldTypeIndex}), called at the end of the run.
+     */
+    public void commitParsedEvents() {
+        parsedEvents.values().forEach(JavaFileParsedEvent::commit);
+        parsedEvents.clear();
+    }
+
+    public int size() {
+        return compilationUnits.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.devtools.processing;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Options of a conversion run, as given in the command line.
+ */
+@Getter
+@Setter
+public class ConversionOptions {
+
+    public static final int DEFAULT_THREADS = 1;
+
+    private boolean annotateExisting = false;
+    private int threads = DEFAULT_THREADS;
+    private HbmParser.Backend parserBackend = HbmParser.Backend.DOM;
+    // Where the JSON run report is written, null when no report is wanted
+    private String reportPath;
+    // Whether everything is converted, ignoring what's known from the previous run
+    private boolean full = false;
+    // Whether the HBM files are converted again each time they change
+    private boolean watch = false;
+
+    public void setThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1, got: " + threads);
+        }
+        this.threads = threads;
+    }
+}
@@ -1,14 +1,27 @@
 package com.devtools.processing;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import javax.persistence.InheritanceType;
@@ -23,6 +36,9 @@ import com.devtools.model.jpa.JpaEntity;
 import com.devtools.model.jpa.JpaRelationship;
 import com.devtools.utils.ClassNameUtils;
 import com.devtools.utils.FileUtils;
+import com.devtools.utils.JavaParserUtils;
+import com.devtools.utils.MemoizingTypeSolver;
+import com.devtools.utils.SourceIndex;
 
 /**
  * The {@code ConversionProcessor} class handles the core conversion logic for transforming
@@ -48,6 +64,13 @@ public class ConversionProcessor {
     
     private static final String HBM_FILE_EXTENSION = ".hbm.xml";
 
+    // Dependency graph of the previous run, kept in memory for the next one (e.g. when watching for changes)
+    private DependencyGraph dependencyGraph;
+    // Also kept from one run to the next: the HBM parsers, with the XML readers of the threads that used them, and
+    // the JRE types solved when resolving the symbols of the Java sources (the sources themselves may have changed)
+    private final Map<HbmParser.Backend, HbmParser> hbmParsers = new EnumMap<>(HbmParser.Backend.class);
+    private final MemoizingTypeSolver classpathTypeSolver = JavaParserUtils.newClasspathTypeSolver();
+
     /**
      * Processes the conversion of HBM files to JPA entities.
      * 
@@ -58,11 +81,48 @@ public class ConversionProcessor {
      */
     public void processConversion(final String inputFolder, final String outputFolder, 
             final boolean annotateExisting) {
-        
+        final ConversionOptions options = new ConversionOptions();
+        options.setAnnotateExisting(annotateExisting);
+        processConversion(inputFolder, outputFolder, options);
+    }
+
+    /**
+     * Processes the conversion of HBM files to JPA entities.
+     *
+     * @param inputFolder the directory containing HBM files
+     * @param outputFolder the target directory for output
+     * @param options the options of the conversion (mode, number of threads, etc.)
+     * @throws RuntimeException if the conversion process fails
+     */
+    public void processConversion(final String inputFolder, final String outputFolder,
+            final ConversionOptions options) {
+
+        final ConversionReport report = new ConversionReport();
+        report.setting("inputFolder", inputFolder);
+        report.setting("outputFolder", outputFolder);
+        report.setting("mode", options.isAnnotateExisting() ? "annotate" : "generate");
+        report.setting("threads", options.getThreads());
+        report.setting("parser", options.getParserBackend());
+        report.setting("full", options.isFull());
+
+        convert(inputFolder, outputFolder, options, report);
+
+        report.logSummary(ConversionReport.DEFAULT_TOP);
+        if (StringUtils.isNotBlank(options.getReportPath())) {
+            writeReport(report, options.getReportPath());
+        }
+    }
+
+    private void convert(final String inputFolder, final String outputFolder, final ConversionOptions options,
+            final ConversionReport report) {
+
+        ConversionReport.Sample sample = ConversionReport.start();
         validateAndCreateOutputDirectory(outputFolder);
         
         final File inputDir = validateInputDirectory(inputFolder);
         final File[] hbmFiles = findHbmFiles(inputDir, inputFolder);
+        report.record(ConversionReport.PHASE_DISCOVERY, sample, hbmFiles.length);
+        report.count("hbmFiles", hbmFiles.length);
         
         if (hbmFiles.length == 0) {
             LOG.warn("No " + HBM_FILE_EXTENSION + " files found in: " + inputFolder);
@@ -71,20 +131,67 @@ public class ConversionProcessor {
 
         LOG.info("Found " + hbmFiles.length + " HBM files to process");
 
-        final Map<String, JpaEntity> jpaEntityMap = parseHbmFiles(hbmFiles);
-        
-        if (jpaEntityMap.isEmpty()) {
-            LOG.warn("No entities were successfully parsed from HBM files");
-            return;
+        final DependencyGraph dependencyGraph;
+        if (options.isFull()) {
+            dependencyGraph = DependencyGraph.create(outputFolder, inputFolder, options.isAnnotateExisting());
+        } else if (this.dependencyGraph != null &&
+                   this.dependencyGraph.isFor(inputFolder, outputFolder, options.isAnnotateExisting())) {
+            dependencyGraph = this.dependencyGraph;
+        } else {
+            dependencyGraph = DependencyGraph.load(outputFolder, inputFolder, options.isAnnotateExisting());
+        }
+
+        sample = ConversionReport.start();
+        final List<File> changedFiles = dependencyGraph.findChangedFiles(hbmFiles);
+        final Map<File, List<JpaEntity>> parsedFiles = parseHbmFiles(changedFiles, options, report);
+        final Set<String> affectedEntities;
+        if (dependencyGraph.isEmpty()) {
+            affectedEntities = null;
+        } else {
+            affectedEntities = dependencyGraph.findAffectedEntities(hbmFiles, parsedFiles);
+            LOG.info("Incremental run: " + changedFiles.size() + " HBM files changed, " + affectedEntities.size() +
+                     " entities to convert again");
+            parsedFiles.putAll(parseHbmFiles(dependencyGraph.findFilesToParse(hbmFiles, affectedEntities, parsedFiles),
+                    options, report));
         }
+        final Map<String, JpaEntity> jpaEntityMap = mergeEntities(hbmFiles, parsedFiles);
+        report.record(ConversionReport.PHASE_PARSE, sample, parsedFiles.size());
+        report.count("parsedHbmFiles", parsedFiles.size());
 
-        LOG.info("Successfully parsed " + jpaEntityMap.size() + " entities");
+        if (affectedEntities != null && affectedEntities.isEmpty()) {
+            LOG.info("Nothing changed since the last run, use --full to convert everything again");
+        } else if (jpaEntityMap.isEmpty()) {
+            LOG.warn("No entities were successfully parsed from HBM files");
+        } else {
+            LOG.info("Successfully parsed " + jpaEntityMap.size() + " entities");
 
-        configureEntitySettings(jpaEntityMap);
+            sample = ConversionReport.start();
+            configureEntities(jpaEntityMap);
+            report.record(ConversionReport.PHASE_CONFIGURE, sample, jpaEntityMap.size());
 
-        checkInconsistencies(jpaEntityMap);
+            // Only the affected entities are converted, the other ones were parsed to configure them
+            final Map<String, JpaEntity> entitiesToProcess = new TreeMap<>(jpaEntityMap);
+            if (affectedEntities != null) {
+                entitiesToProcess.keySet().retainAll(affectedEntities);
+            }
+            // Counted once configured, since the embeddables are added as entities
+            report.count("entities", entitiesToProcess.size());
+
+            generateOrAnnotateEntities(entitiesToProcess, outputFolder, options, dependencyGraph, report);
+        }
+
+        dependencyGraph.update(hbmFiles, parsedFiles, jpaEntityMap);
+        dependencyGraph.save();
+        this.dependencyGraph = dependencyGraph;
+    }
 
-        generateOrAnnotateEntities(jpaEntityMap, outputFolder, annotateExisting);
+    private void writeReport(final ConversionReport report, final String reportPath) {
+        try {
+            report.writeJson(Paths.get(reportPath));
+            LOG.info("Run report written to: " + reportPath);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to write the run report: " + reportPath, e);
+        }
     }
 
     private void validateAndCreateOutputDirectory(final String outputFolder) {
@@ -123,34 +230,122 @@ public class ConversionProcessor {
         }
     }
 
-    private Map<String, JpaEntity> parseHbmFiles(final File[] hbmFiles) {
+    /**
+     * Parses some HBM files.
+     *
+     * @return the entities of each file, null for the files that failed to be parsed
+     */
+    private Map<File, List<JpaEntity>> parseHbmFiles(final List<File> hbmFiles, final ConversionOptions options,
+            final ConversionReport report) {
+        final HbmParser hbmParser = hbmParsers.computeIfAbsent(options.getParserBackend(), HbmParser::new);
+        final int threads = options.getThreads();
+        final Map<File, List<JpaEntity>> parsedFiles = new HashMap<>();
+
+        if (threads <= 1 || hbmFiles.size() <= 1) {
+            for (final File hbmFile : hbmFiles) {
+                parsedFiles.put(hbmFile, parseHbmFile(hbmParser, hbmFile, report));
+            }
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, hbmFiles.size()));
+            try {
+                final List<Future<List<JpaEntity>>> futures = new ArrayList<>(hbmFiles.size());
+                for (final File hbmFile : hbmFiles) {
+                    futures.add(executor.submit(() -> {
+                        final ConversionReport.Sample sample = ConversionReport.start();
+                        final List<JpaEntity> entities = parseHbmFile(hbmParser, hbmFile, report);
+                        // The wall time is measured by this thread, only the work of the workers is added
+                        report.addWork(ConversionReport.PHASE_PARSE, sample.stop());
+                        return entities;
+                    }));
+                }
+                for (int i = 0; i < hbmFiles.size(); i++) {
+                    parsedFiles.put(hbmFiles.get(i), futures.get(i).get());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while parsing HBM files", e);
+            } catch (final ExecutionException e) {
+                throw new RuntimeException("Unexpected error while parsing HBM files", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return parsedFiles;
+    }
+
+    private Map<String, JpaEntity> mergeEntities(final File[] hbmFiles, final Map<File, List<JpaEntity>> parsedFiles) {
+        // Merge in file order, so the result (and the duplicates reported) doesn't depend on the number of threads
         final Map<String, JpaEntity> jpaEntityMap = new TreeMap<>();
-        final HbmParser hbmParser = new HbmParser();
-        
+        final Map<String, String> entityFiles = new HashMap<>();
         for (final File hbmFile : hbmFiles) {
-            final String hbmFilePath = hbmFile.getAbsolutePath();
-            LOG.info("Parsing HBM file: " + hbmFilePath);
-
-            try {
-                final List<JpaEntity> entities = hbmParser.parse(hbmFilePath);
+            final List<JpaEntity> entities = parsedFiles.get(hbmFile);
+            if (entities == null) {
+                continue;
+            }
 
-                if (entities == null) {
-                    LOG.error("Failed to parse HBM file: " + hbmFilePath);
-                    continue;
+            final String hbmFilePath = hbmFile.getAbsolutePath();
+            for (final JpaEntity entity : entities) {
+                final String previousFile = entityFiles.put(entity.getSimpleName(), hbmFilePath);
+                if (previousFile != null) {
+                    LOG.error("Duplicate entity name '" + entity.getSimpleName() + "' found in " + hbmFilePath +
+                              ", it overrides the one previously parsed from " + previousFile);
                 }
-
-                final int entitiesCount = entities.size();
-                entities.forEach(entity -> jpaEntityMap.put(entity.getSimpleName(), entity));
-                LOG.debug("Extracted " + entitiesCount + " entities from: " + hbmFile.getName());
-                
-            } catch (final Exception e) {
-                LOG.error("Error parsing HBM file: " + hbmFilePath, e);
+                jpaEntityMap.put(entity.getSimpleName(), entity);
             }
         }
         
         return jpaEntityMap;
     }
 
+    private List<JpaEntity> parseHbmFile(final HbmParser hbmParser, final File hbmFile,
+            final ConversionReport report) {
+        final String hbmFilePath = hbmFile.getAbsolutePath();
+        LOG.info("Parsing HBM file: " + hbmFilePath);
+
+        final ConversionReport.Sample sample = ConversionReport.start();
+        final HbmFileParsedEvent event = new HbmFileParsedEvent();
+        event.begin();
+        try {
+            final List<JpaEntity> entities = hbmParser.parse(hbmFilePath);
+            report.recordFile(hbmFilePath, sample.stop(), entities != null ? entities.size() : 0);
+            commitParsedEvent(event, hbmFile, entities);
+
+            if (entities == null) {
+                LOG.error("Failed to parse HBM file: " + hbmFilePath);
+                return null;
+            }
+
+            LOG.debug("Extracted " + entities.size() + " entities from: " + hbmFile.getName());
+            return entities;
+
+        } catch (final Exception e) {
+            report.recordFile(hbmFilePath, sample.stop(), 0);
+            commitParsedEvent(event, hbmFile, null);
+            LOG.error("Error parsing HBM file: " + hbmFilePath, e);
+            return null;
+        }
+    }
+
+    private static void commitParsedEvent(final HbmFileParsedEvent event, final File hbmFile,
+            final List<JpaEntity> entities) {
+        if (event.shouldCommit()) {
+            event.path = hbmFile.getAbsolutePath();
+            event.bytes = hbmFile.length();
+            event.entities = entities != null ? entities.size() : 0;
+            event.commit();
+        }
+    }
+
+    /**
+     * Completes the parsed entities with the settings that depend on other entities (inheritance,
+     * relationships and embeddables) and checks them for inconsistencies.
+     */
+    void configureEntities(final Map<String, JpaEntity> jpaEntityMap) {
+        configureEntitySettings(jpaEntityMap);
+
+        checkInconsistencies(jpaEntityMap);
+    }
+
     private void configureEntitySettings(final Map<String, JpaEntity> jpaEntityMap) {
         LOG.info("Configuring entity inheritance, relationships, and embeddable settings...");
         
@@ -364,39 +559,329 @@ public class ConversionProcessor {
     }
 
     private void generateOrAnnotateEntities(final Map<String, JpaEntity> jpaEntityMap,
-            final String outputFolder, final boolean annotateExisting) {
+            final String outputFolder, final ConversionOptions options, final DependencyGraph dependencyGraph,
+            final ConversionReport report) {
+
+        // Index the output folder once, so class lookups don't walk the whole tree for each entity
+        final ConversionReport.Sample indexSample = ConversionReport.start();
+        final SourceIndex sourceIndex = SourceIndex.load(outputFolder);
+        report.record(ConversionReport.PHASE_INDEX, indexSample, sourceIndex.size());
+
+        final boolean annotateExisting = options.isAnnotateExisting();
+        // The existing classes are parsed once, whether they're annotated or looked up to resolve a mappedBy
+        final CompilationUnitCache compilationUnits = new CompilationUnitCache(outputFolder, sourceIndex,
+                classpathTypeSolver, report);
+        final FieldTypeIndex fieldTypeIndex = new FieldTypeIndex(compilationUnits);
+        final EntityProcessor entityProcessor = new EntityProcessor(new AnnotationBuilder(fieldTypeIndex),
+                new AnnotationApplier(outputFolder, compilationUnits, report),
+                new EntityGenerator(report.measuring(FileUtils::writeFileIfChanged)), outputFolder, annotateExisting,
+                dependencyGraph, report);
+
+        // The embedded entities are generated along with the entities embedding them, not a second time on their own
+        final Map<String, JpaEntity> entitiesToProcess = annotateExisting ? jpaEntityMap :
+                removeEmbeddedEntities(jpaEntityMap);
+
+        final int threads = Math.min(options.getThreads(), entitiesToProcess.size());
+        final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        final int errorCount;
+        try {
+            if (annotateExisting) {
+                prepareAnnotation(entitiesToProcess.values(), entityProcessor.applier, fieldTypeIndex, executor,
+                        report);
+            }
+            if (executor == null) {
+                errorCount = entityProcessor.process(new ArrayList<>(entitiesToProcess.values()));
+            } else {
+                errorCount = processInParallel(groupEntities(entitiesToProcess, entityProcessor.applier,
+                        annotateExisting), entityProcessor, executor, threads);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        final int successCount = jpaEntityMap.size() - errorCount;
+
+        if (annotateExisting) {
+            final int writtenCount = entityProcessor.applier.writeChanges();
+            report.count("writtenFiles", writtenCount);
+            LOG.info("Annotated source files written: " + writtenCount);
+        }
+        compilationUnits.commitParsedEvents();
+
+        report.count("successes", successCount);
+        report.count("errors", errorCount);
+        LOG.info("Entity processing completed. Success: " + successCount + ", Errors: " + errorCount);
+    }
 
-        final AnnotationBuilder annotationBuilder = new AnnotationBuilder(outputFolder);
-        final AnnotationApplier annotationApplier = new AnnotationApplier(outputFolder);
-        final EntityGenerator entityGenerator = new EntityGenerator();
+    private static Map<String, JpaEntity> removeEmbeddedEntities(final Map<String, JpaEntity> jpaEntityMap) {
+        final Set<JpaEntity> embeddedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+        jpaEntityMap.values().forEach(jpaEntity -> embeddedEntities.addAll(jpaEntity.getEmbeddedEntities()));
 
-        int successCount = 0;
-        int errorCount = 0;
+        final Map<String, JpaEntity> entities = new LinkedHashMap<>(jpaEntityMap);
+        entities.values().removeIf(embeddedEntities::contains);
+        return entities;
+    }
 
-        for (final JpaEntity jpaEntity : jpaEntityMap.values()) {
-            final String entityName = jpaEntity.getSimpleName();
-            LOG.info("Processing entity: " + entityName);
+    /**
+     * Parses the source files of the classes to annotate and of their parent classes, and indexes the fields of
+     * their related classes before any of them is annotated. Done by the worker threads when there are some, so
+     * the grouping of the entities and their annotation find the classes already parsed.
+     */
+    private static void prepareAnnotation(final Collection<JpaEntity> entities,
+            final AnnotationApplier annotationApplier, final FieldTypeIndex fieldTypeIndex,
+            final ExecutorService executor, final ConversionReport report) {
+
+        final ConversionReport.Sample sample = ConversionReport.start();
+        final List<Callable<Void>> tasks = new ArrayList<>(entities.size());
+        for (final JpaEntity jpaEntity : entities) {
+            tasks.add(() -> {
+                final ConversionReport.Sample taskSample = ConversionReport.start();
+                try {
+                    annotationApplier.findClassHierarchy(jpaEntity.getType());
+                } catch (final IOException e) {
+                    // Reported again when the entity is annotated
+                    LOG.debug("Class hierarchy of " + jpaEntity.getSimpleName() + " not found", e);
+                }
+                jpaEntity.getRelationships().forEach(relationship ->
+                        fieldTypeIndex.index(relationship.getReturnType()));
+                if (executor != null) {
+                    // The wall time is measured by the calling thread, only the work of the workers is added
+                    report.addWork(ConversionReport.PHASE_PREPARE, taskSample.stop());
+                }
+                return null;
+            });
+        }
+        runAll(tasks, executor, "preparing the entities");
+        report.record(ConversionReport.PHASE_PREPARE, sample, entities.size());
+    }
 
-            try {
-                annotationBuilder.build(jpaEntity);
+    private static int processInParallel(final List<List<JpaEntity>> groups, final EntityProcessor entityProcessor,
+            final ExecutorService executor, final int threads) {
+        LOG.info("Processing " + groups.size() + " independent groups of entities in " + threads + " threads");
 
-                if (annotateExisting) {
-                    annotationApplier.applyAnnotations(jpaEntity);
-                    LOG.debug("Successfully annotated existing entity: " + entityName);
-                } else {
-                    entityGenerator.generate(jpaEntity, outputFolder);
-                    LOG.debug("Successfully generated new entity: " + entityName);
+        final List<Callable<Integer>> tasks = new ArrayList<>(groups.size());
+        for (final List<JpaEntity> group : groups) {
+            tasks.add(() -> entityProcessor.process(group));
+        }
+        return runAll(tasks, executor, "processing entities").stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Runs some tasks in the threads of an executor, or one by one in the calling thread without executor.
+     *
+     * @return the results of the tasks, in their order
+     */
+    private static <T> List<T> runAll(final List<Callable<T>> tasks, final ExecutorService executor,
+            final String description) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        try {
+            if (executor == null) {
+                for (final Callable<T> task : tasks) {
+                    results.add(task.call());
                 }
+            } else {
+                for (final Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while " + description, e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException("Unexpected error while " + description, e.getCause());
+        } catch (final Exception e) {
+            throw new RuntimeException("Unexpected error while " + description, e);
+        }
+    }
 
-                successCount++;
+    /**
+     * Splits the entities into groups that can be processed in parallel, with the same result as processing them
+     * one by one. The entities sharing some state are put in the same group, in their processing order:
+     * <ul>
+     *   <li>the embeddables they build and generate along with themselves (or whose columns they share)</li>
+     *   <li>when annotating, the classes they change: their own one and their parent classes</li>
+     * </ul>
+     */
+    private List<List<JpaEntity>> groupEntities(final Map<String, JpaEntity> jpaEntityMap,
+            final AnnotationApplier annotationApplier, final boolean annotateExisting) {
+
+        final List<JpaEntity> entities = new ArrayList<>(jpaEntityMap.values());
+        final int[] groupIds = new int[entities.size()];
+        for (int i = 0; i < groupIds.length; i++) {
+            groupIds[i] = i;
+        }
 
-            } catch (final Exception e) {
-                LOG.error("Error processing entity '" + entityName + "' (class: " +
-                          jpaEntity.getParentClass() + ")", e);
-                errorCount++;
+        // Each class is owned by the first entity using it, the next ones join its group
+        final Map<String, Integer> classOwners = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            for (final String className : findSharedClasses(entities.get(i), annotationApplier, annotateExisting)) {
+                final Integer owner = classOwners.putIfAbsent(className, i);
+                if (owner != null) {
+                    union(groupIds, owner, i);
+                }
             }
         }
 
-        LOG.info("Entity processing completed. Success: " + successCount + ", Errors: " + errorCount);
+        final Map<Integer, List<JpaEntity>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            groups.computeIfAbsent(findGroup(groupIds, i), key -> new ArrayList<>()).add(entities.get(i));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static Set<String> findSharedClasses(final JpaEntity jpaEntity, final AnnotationApplier annotationApplier,
+            final boolean annotateExisting) {
+        final Set<String> classNames = new HashSet<>();
+        addEmbeddedClasses(jpaEntity, classNames);
+        if (annotateExisting) {
+            try {
+                classNames.addAll(annotationApplier.findClassHierarchy(jpaEntity.getType()));
+            } catch (final IOException e) {
+                // Reported again when the entity is annotated
+                LOG.debug("Class hierarchy of " + jpaEntity.getSimpleName() + " not found", e);
+            }
+        }
+        return classNames;
+    }
+
+    private static void addEmbeddedClasses(final JpaEntity jpaEntity, final Set<String> classNames) {
+        if (!classNames.add(jpaEntity.getSimpleName())) {
+            return;
+        }
+        for (final JpaCompositeColumn compositeColumn : jpaEntity.getCompositeColumns()) {
+            if (StringUtils.isNotBlank(compositeColumn.getType())) {
+                classNames.add(ClassNameUtils.getSimpleClassName(compositeColumn.getReturnType()));
+            }
+        }
+        for (final JpaRelationship relationship : jpaEntity.getRelationships()) {
+            if (StringUtils.isNotBlank(relationship.getCompositeMapKey())) {
+                classNames.add(relationship.getCompositeMapKey());
+            }
+        }
+        jpaEntity.getEmbeddedEntities().forEach(embeddedEntity -> addEmbeddedClasses(embeddedEntity, classNames));
+    }
+
+    private static int findGroup(final int[] groupIds, final int index) {
+        int group = index;
+        while (groupIds[group] != group) {
+            group = groupIds[group];
+        }
+        return group;
+    }
+
+    private static void union(final int[] groupIds, final int first, final int second) {
+        final int firstGroup = findGroup(groupIds, first);
+        final int secondGroup = findGroup(groupIds, second);
+        // The group is identified by its first entity, so the groups keep the processing order
+        groupIds[Math.max(firstGroup, secondGroup)] = Math.min(firstGroup, secondGroup);
+    }
+
+    private static void buildAnnotations(final AnnotationBuilder annotationBuilder, final JpaEntity jpaEntity) {
+        final EntityBuiltEvent event = new EntityBuiltEvent();
+        event.begin();
+        boolean successful = false;
+        try {
+            annotationBuilder.build(jpaEntity);
+            successful = true;
+        } finally {
+            if (event.shouldCommit()) {
+                event.entity = jpaEntity.getSimpleName();
+                event.className = jpaEntity.getType();
+                event.fields = jpaEntity.getColumns().size() + jpaEntity.getCompositeColumns().size() +
+                               jpaEntity.getRelationships().size() + (jpaEntity.getPrimaryKey() != null ? 1 : 0);
+                event.successful = successful;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Builds the annotations of the entities and generates or annotates their classes, one by one.
+     */
+    private static final class EntityProcessor {
+
+        private final AnnotationBuilder builder;
+        private final AnnotationApplier applier;
+        private final EntityGenerator generator;
+        private final String outputFolder;
+        private final boolean annotateExisting;
+        private final DependencyGraph dependencyGraph;
+        private final ConversionReport report;
+
+        private EntityProcessor(final AnnotationBuilder builder, final AnnotationApplier applier,
+                final EntityGenerator generator, final String outputFolder, final boolean annotateExisting,
+                final DependencyGraph dependencyGraph, final ConversionReport report) {
+            this.builder = builder;
+            this.applier = applier;
+            this.generator = generator;
+            this.outputFolder = outputFolder;
+            this.annotateExisting = annotateExisting;
+            this.dependencyGraph = dependencyGraph;
+            this.report = report;
+        }
+
+        /**
+         * @return the number of entities that failed
+         */
+        private int process(final List<JpaEntity> entities) {
+            final String phase = annotateExisting ? ConversionReport.PHASE_ANNOTATE : ConversionReport.PHASE_GENERATE;
+            int errorCount = 0;
+
+            for (final JpaEntity jpaEntity : entities) {
+                final String entityName = jpaEntity.getSimpleName();
+                LOG.info("Processing entity: " + entityName);
+
+                final ConversionReport.Sample entitySample = ConversionReport.start();
+                try {
+                    buildAnnotations(builder, jpaEntity);
+                    report.record(ConversionReport.PHASE_BUILD, entitySample, 1);
+
+                    final ConversionReport.Sample sample = ConversionReport.start();
+                    if (annotateExisting) {
+                        applier.applyAnnotations(jpaEntity);
+                        LOG.debug("Successfully annotated existing entity: " + entityName);
+                    } else {
+                        generator.generate(jpaEntity, outputFolder);
+                        LOG.debug("Successfully generated new entity: " + entityName);
+                    }
+                    report.record(phase, sample, 1);
+                    dependencyGraph.recordProcessed(entityName, findOutputFiles(jpaEntity));
+                    if (!annotateExisting) {
+                        for (final JpaEntity embeddedEntity : jpaEntity.getEmbeddedEntities()) {
+                            dependencyGraph.recordProcessed(embeddedEntity.getSimpleName(),
+                                    findOutputFiles(embeddedEntity));
+                        }
+                    }
+
+                } catch (final Exception e) {
+                    LOG.error("Error processing entity '" + entityName + "' (class: " +
+                              jpaEntity.getParentClass() + ")", e);
+                    dependencyGraph.recordFailed(entityName);
+                    if (!annotateExisting) {
+                        jpaEntity.getEmbeddedEntities().forEach(embeddedEntity ->
+                                dependencyGraph.recordFailed(embeddedEntity.getSimpleName()));
+                    }
+                    errorCount++;
+                }
+                report.recordEntity(entityName, entitySample.stop());
+            }
+            return errorCount;
+        }
+
+        /**
+         * @return the files written for an entity: the generated ones, or the annotated source files of its class
+         * hierarchy (or the one generated when its class was not found)
+         */
+        private List<Path> findOutputFiles(final JpaEntity jpaEntity) throws IOException {
+            if (annotateExisting) {
+                final List<Path> sourceFiles = applier.findSourceFiles(jpaEntity.getType());
+                if (!sourceFiles.isEmpty()) {
+                    return sourceFiles;
+                }
+            }
+            return EntityGenerator.findOutputFiles(jpaEntity, outputFolder).stream().map(Paths::get).toList();
+        }
     }
-}
\ No newline at end of file
+}
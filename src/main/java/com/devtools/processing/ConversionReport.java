@@ -0,0 +1,341 @@
+package com.devtools.processing;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.devtools.utils.FileUtils;
+
+/**
+ * Timings and counters of a conversion run: per phase, per HBM file and per entity.
+ *
+ * <p>Each measure records the wall time, the CPU time and the bytes allocated by the measuring thread
+ * (through {@link ThreadMXBean}, -1 when the JVM doesn't support it). The phases run in parallel threads
+ * also add the CPU time and bytes allocated by the worker threads, so their CPU time can exceed their wall time.</p>
+ *
+ * <p>The report is safe to use from several threads. It's written as JSON (see {@link #writeJson(Path)}) and
+ * summarised in the log (see {@link #logSummary(int)}).</p>
+ */
+public class ConversionReport {
+
+    private static final Log LOG = LogFactory.getLog(ConversionReport.class);
+
+    public static final String PHASE_DISCOVERY = "discovery";
+    public static final String PHASE_PARSE = "parse";
+    public static final String PHASE_CONFIGURE = "configure";
+    public static final String PHASE_INDEX = "index";
+    // Before the annotate phase: the source files of the annotated classes are parsed and their fields indexed
+    public static final String PHASE_PREPARE = "prepare";
+    public static final String PHASE_BUILD = "build";
+    public static final String PHASE_GENERATE = "generate";
+    public static final String PHASE_ANNOTATE = "annotate";
+    // Nested in the prepare, generate and annotate phases
+    public static final String PHASE_JAVA_PARSE = "javaParse";
+    public static final String PHASE_WRITE = "write";
+
+    public static final String CHANGED_FILES = "changedFiles";
+    public static final String UNCHANGED_FILES = "unchangedFiles";
+
+    public static final int DEFAULT_TOP = 10;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final Instant startedAt = Instant.now();
+    private final Sample total = start();
+    private final Map<String, String> settings = new LinkedHashMap<>();
+    private final Map<String, Stats> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final List<Item> files = new ArrayList<>();
+    private final List<Item> entities = new ArrayList<>();
+    private Measure totalMeasure;
+
+    /**
+     * Counters of the current thread when a measure started.
+     */
+    public record Sample(long wallNanos, long cpuNanos, long allocatedBytes) {
+
+        public Measure stop() {
+            final Sample end = start();
+            return new Measure(end.wallNanos - wallNanos,
+                    cpuNanos < 0 || end.cpuNanos < 0 ? -1 : end.cpuNanos - cpuNanos,
+                    allocatedBytes < 0 || end.allocatedBytes < 0 ? -1 : end.allocatedBytes - allocatedBytes);
+        }
+    }
+
+    /**
+     * What a measure took: wall and CPU time, and allocated bytes (-1 when not supported).
+     */
+    public record Measure(long wallNanos, long cpuNanos, long allocatedBytes) {
+    }
+
+    /**
+     * A measured HBM file or entity.
+     */
+    public record Item(String name, Measure measure, long count) {
+    }
+
+    /**
+     * Starts a measure on the current thread.
+     */
+    public static Sample start() {
+        final long cpu = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+        long allocated = -1;
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean sunThreadMXBean &&
+                sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            allocated = sunThreadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return new Sample(System.nanoTime(), cpu, allocated);
+    }
+
+    public synchronized void setting(final String name, final Object value) {
+        settings.put(name, String.valueOf(value));
+    }
+
+    public synchronized void count(final String counter, final long delta) {
+        counters.merge(counter, delta, Long::sum);
+    }
+
+    /**
+     * Records a measure of a phase, measured on the thread running it. A phase can be recorded several times
+     * (e.g. once per entity), the measures are added up.
+     *
+     * @return the measure recorded
+     */
+    public Measure record(final String phase, final Sample sample, final long items) {
+        final Measure measure = sample.stop();
+        synchronized (this) {
+            phases.computeIfAbsent(phase, name -> new Stats()).add(measure, items);
+        }
+        return measure;
+    }
+
+    /**
+     * Adds the CPU time and allocated bytes spent by a worker thread in a phase (its wall time is already
+     * accounted by the thread running the phase).
+     */
+    public synchronized void addWork(final String phase, final Measure measure) {
+        final Stats stats = phases.computeIfAbsent(phase, name -> new Stats());
+        stats.cpuNanos = sum(stats.cpuNanos, measure.cpuNanos);
+        stats.allocatedBytes = sum(stats.allocatedBytes, measure.allocatedBytes);
+    }
+
+    public synchronized void recordFile(final String path, final Measure measure, final int entityCount) {
+        files.add(new Item(path, measure, entityCount));
+    }
+
+    public synchronized void recordEntity(final String name, final Measure measure) {
+        entities.add(new Item(name, measure, 1));
+    }
+
+    /**
+     * Ends the run, fixing its total time.
+     */
+    public synchronized void finish() {
+        if (totalMeasure == null) {
+            totalMeasure = total.stop();
+        }
+    }
+
+    /**
+     * Wraps a source writer so the writes are recorded in the {@value #PHASE_WRITE} phase, and counted as changed
+     * or unchanged files.
+     */
+    public EntityGenerator.SourceWriter measuring(final EntityGenerator.SourceWriter writer) {
+        return (fileName, content, headerLength) -> {
+            final Sample sample = start();
+            final boolean changed = writer.write(fileName, content, headerLength);
+            record(PHASE_WRITE, sample, 1);
+            countWrite(changed);
+            return changed;
+        };
+    }
+
+    /**
+     * Counts a file written ({@value #CHANGED_FILES}), or left as is since its content didn't change
+     * ({@value #UNCHANGED_FILES}).
+     */
+    public void countWrite(final boolean changed) {
+        count(changed ? CHANGED_FILES : UNCHANGED_FILES, 1);
+    }
+
+    /**
+     * Logs a one-screen summary: totals, phases, and the slowest HBM files and entities.
+     *
+     * @param top number of slowest HBM files and entities listed
+     */
+    public synchronized void logSummary(final int top) {
+        finish();
+
+        final StringBuilder summary = new StringBuilder("Conversion summary\n");
+        summary.append(String.format("  Total: %s wall, %s CPU, %s allocated%n", millis(totalMeasure.wallNanos),
+                millis(totalMeasure.cpuNanos), megabytes(totalMeasure.allocatedBytes)));
+        counters.forEach((name, value) -> summary.append(String.format("  %s: %d%n", name, value)));
+
+        summary.append(String.format("  %-12s %12s %12s %12s %8s%n", "Phase", "Wall", "CPU", "Allocated", "Items"));
+        phases.forEach((name, stats) -> summary.append(String.format("  %-12s %12s %12s %12s %8d%n", name,
+                millis(stats.wallNanos), millis(stats.cpuNanos), megabytes(stats.allocatedBytes), stats.items)));
+
+        appendSlowest(summary, "HBM files", files, top);
+        appendSlowest(summary, "entities", entities, top);
+
+        LOG.info(summary.toString().stripTrailing());
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param path the file to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeJson(final Path path) throws IOException {
+        final String json;
+        synchronized (this) {
+            finish();
+            json = toJson();
+        }
+        FileUtils.writeFile(path.toString(), json);
+    }
+
+    private String toJson() {
+        final StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"startedAt\": ").append(quote(startedAt.toString())).append(",\n");
+
+        json.append("  \"settings\": {");
+        appendEntries(json, settings, ConversionReport::quote);
+        json.append("},\n");
+
+        json.append("  \"total\": ").append(toJson(totalMeasure)).append(",\n");
+
+        json.append("  \"counters\": {");
+        appendEntries(json, counters, String::valueOf);
+        json.append("},\n");
+
+        json.append("  \"phases\": [");
+        boolean first = true;
+        for (final Map.Entry<String, Stats> phase : phases.entrySet()) {
+            final Stats stats = phase.getValue();
+            json.append(first ? "\n" : ",\n");
+            json.append("    {\"name\": ").append(quote(phase.getKey()))
+                    .append(", \"wallNanos\": ").append(stats.wallNanos)
+                    .append(", \"cpuNanos\": ").append(stats.cpuNanos)
+                    .append(", \"allocatedBytes\": ").append(stats.allocatedBytes)
+                    .append(", \"items\": ").append(stats.items).append('}');
+            first = false;
+        }
+        json.append("\n  ],\n");
+
+        json.append("  \"files\": ");
+        appendItems(json, files, "entities");
+        json.append(",\n");
+
+        json.append("  \"entities\": ");
+        appendItems(json, entities, null);
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    private static void appendItems(final StringBuilder json, final List<Item> items, final String countName) {
+        json.append('[');
+        final List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(Item::name));
+        for (int i = 0; i < sorted.size(); i++) {
+            final Item item = sorted.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"name\": ").append(quote(item.name))
+                    .append(", \"wallNanos\": ").append(item.measure.wallNanos)
+                    .append(", \"cpuNanos\": ").append(item.measure.cpuNanos)
+                    .append(", \"allocatedBytes\": ").append(item.measure.allocatedBytes);
+            if (countName != null) {
+                json.append(", \"").append(countName).append("\": ").append(item.count);
+            }
+            json.append('}');
+        }
+        json.append(sorted.isEmpty() ? "]" : "\n  ]");
+    }
+
+    private static <T> void appendEntries(final StringBuilder json, final Map<String, T> entries,
+            final Function<T, String> valueFormat) {
+        boolean first = true;
+        for (final Map.Entry<String, T> entry : entries.entrySet()) {
+            json.append(first ? "" : ", ").append(quote(entry.getKey())).append(": ")
+                    .append(valueFormat.apply(entry.getValue()));
+            first = false;
+        }
+    }
+
+    private static String toJson(final Measure measure) {
+        return "{\"wallNanos\": " + measure.wallNanos + ", \"cpuNanos\": " + measure.cpuNanos +
+               ", \"allocatedBytes\": " + measure.allocatedBytes + "}";
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static void appendSlowest(final StringBuilder summary, final String title, final List<Item> items,
+            final int top) {
+        if (items.isEmpty() || top <= 0) {
+            return;
+        }
+        summary.append(String.format("  Slowest %s:%n", title));
+        items.stream()
+                .sorted(Comparator.comparingLong((Item item) -> item.measure.wallNanos).reversed())
+                .limit(top)
+                .forEach(item -> summary.append(String.format("    %12s %12s  %s%n", millis(item.measure.wallNanos),
+                        megabytes(item.measure.allocatedBytes), item.name)));
+    }
+
+    private static String millis(final long nanos) {
+        return nanos < 0 ? "n/a" : String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+
+    private static String megabytes(final long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static long sum(final long total, final long value) {
+        return total < 0 || value < 0 ? -1 : total + value;
+    }
+
+    private static final class Stats {
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long items;
+
+        private void add(final Measure measure, final long count) {
+            wallNanos += measure.wallNanos;
+            cpuNanos = sum(cpuNanos, measure.cpuNanos);
+            allocatedBytes = sum(allocatedBytes, measure.allocatedBytes);
+            items += count;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.devtools.processing;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.devtools.utils.FileUtils;
+
+/**
+ * Keeps converting the HBM files as they change: after a first conversion, the input and output folders are watched,
+ * and each burst of changes triggers an incremental conversion (see {@link DependencyGraph}).
+ *
+ * <p>The conversions are done by the same {@link ConversionProcessor}, which keeps the dependency graph in memory,
+ * in a JVM already warmed up, so a change to a mapping file is converted in a fraction of a cold full run. The
+ * changes of the Java files done by the conversions themselves are ignored.</p>
+ */
+public class ConversionWatcher {
+
+    private static final Log LOG = LogFactory.getLog(ConversionWatcher.class);
+
+    private static final String HBM_FILE_EXTENSION = ".hbm.xml";
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    /** Time without any change waited for before converting, so a burst of changes is converted once. */
+    public static final long DEBOUNCE_MILLIS = 200L;
+
+    private final ConversionProcessor processor;
+    private final String inputFolder;
+    private final String outputFolder;
+    private final ConversionOptions options;
+
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    public ConversionWatcher(final ConversionProcessor processor, final String inputFolder, final String outputFolder,
+            final ConversionOptions options) {
+        this.processor = processor;
+        this.inputFolder = inputFolder;
+        this.outputFolder = outputFolder;
+        this.options = options;
+    }
+
+    /**
+     * Converts the HBM files, then converts them again on each change, until the thread is interrupted.
+     *
+     * @throws IOException if the folders can't be watched
+     */
+    public void watch() throws IOException {
+        try (final WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            register(watchService, Paths.get(inputFolder));
+            register(watchService, Paths.get(outputFolder));
+
+            convert();
+            // The next conversions only convert what changed
+            options.setFull(false);
+
+            boolean changed = drainChanges(watchService);
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!changed) {
+                    LOG.info("Watching " + inputFolder + " and " + outputFolder + " for changes...");
+                    changed = processChanges(watchService, watchService.take(), true);
+                }
+                // Wait for the end of the burst of changes
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= processChanges(watchService, key, true);
+                }
+
+                if (changed) {
+                    convert();
+                    changed = drainChanges(watchService);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.info("Stopped watching for changes");
+    }
+
+    private void convert() {
+        final long start = System.nanoTime();
+        try {
+            processor.processConversion(inputFolder, outputFolder, options);
+            LOG.info("Conversion done in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (final RuntimeException e) {
+            // Keep watching, the mappings can be fixed
+            LOG.error("Conversion failed", e);
+        }
+    }
+
+    /**
+     * Processes the changes notified until none comes for {@value #DEBOUNCE_MILLIS} ms, ignoring the Java files,
+     * since their changes are the ones done by the conversion (some being notified late).
+     *
+     * @return true if some HBM files changed
+     */
+    private boolean drainChanges(final WatchService watchService) throws IOException, InterruptedException {
+        boolean changed = false;
+        WatchKey key;
+        while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+            changed |= processChanges(watchService, key, false);
+        }
+        return changed;
+    }
+
+    /**
+     * Processes the changes of a watched directory, registering the new subdirectories.
+     *
+     * @param javaFiles whether the changes of Java files are taken into account
+     * @return true if some HBM files changed (or Java files, if taken into account), or some directories were added
+     */
+    private boolean processChanges(final WatchService watchService, final WatchKey key, final boolean javaFiles)
+            throws IOException {
+        final Path directory = watchedDirectories.get(key);
+        boolean changed = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                LOG.warn("Too many changes at once in " + directory + ", converting what changed");
+                changed = true;
+                continue;
+            }
+
+            final Path path = directory.resolve((Path) event.context());
+            final String fileName = path.getFileName().toString();
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                // Its files may have been created before it was registered
+                register(watchService, path);
+                changed |= javaFiles;
+            } else if (fileName.endsWith(HBM_FILE_EXTENSION) || javaFiles && fileName.endsWith(JAVA_FILE_EXTENSION)) {
+                LOG.debug("Changed: " + path);
+                changed = true;
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return changed;
+    }
+
+    private void register(final WatchService watchService, final Path start) throws IOException {
+        if (!Files.isDirectory(start)) {
+            return;
+        }
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                    throws IOException {
+                if (FileUtils.STATE_FOLDER.equals(String.valueOf(dir.getFileName()))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,591 @@
+package com.devtools.processing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.devtools.model.jpa.JpaCompositeColumn;
+import com.devtools.model.jpa.JpaEntity;
+import com.devtools.model.jpa.JpaRelationship;
+import com.devtools.utils.ClassNameUtils;
+import com.devtools.utils.FileUtils;
+
+/**
+ * Dependencies between the HBM files, the entities they define and the files written for these entities, kept
+ * between runs in the {@value FileUtils#STATE_FOLDER} folder of the output folder, so a run converts again only what
+ * changed since the previous one.
+ *
+ * <p>Configuring an entity depends on the entities its mapping refers to, and changes them: a parent class gets its
+ * inheritance strategy from its subclasses, the inverse side of a relationship its foreign key, an embeddable its
+ * columns from the entity using it, etc. So when an HBM file changes (or an output file, or the conversion of an
+ * entity failed), the entities it defines are converted again along with the entities they refer to, the ones
+ * referring to them, their subclasses, their ancestors and their embeddables. Only their HBM files, and the ones of
+ * the entities needed to configure them, are parsed again.</p>
+ *
+ * <p>A file is unchanged when it has the size and modification time recorded, or else the digest recorded, so
+ * touching a file doesn't convert it again. Changes to the existing Java classes looked up to resolve a
+ * {@code mappedBy}, or to the ignored fields, are not tracked.</p>
+ */
+public final class DependencyGraph {
+
+    private static final Log LOG = LogFactory.getLog(DependencyGraph.class);
+
+    private static final String GRAPH_FILE = "dependency-graph";
+    private static final String GRAPH_HEADER = "# hbm2java dependency graph v1";
+    private static final String SETTINGS_ENTRY = "S";
+    private static final String HBM_FILE_ENTRY = "H";
+    private static final String ENTITY_ENTRY = "E";
+    private static final String OUTPUT_FILE_ENTRY = "O";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String FAILED = "failed";
+
+    // Files modified this close to the save time are compared by digest on the next run, since a change done
+    // in the same timestamp granularity would not be noticed
+    private static final long RACY_MTIME_WINDOW_MILLIS = 2000L;
+    private static final long UNKNOWN_MTIME = -1L;
+
+    private final Path inputPath;
+    private final Path outputPath;
+    private final Path graphFile;
+    // Input folder and mode of the run, the graph is only used by the runs with the same ones
+    private final String settings;
+    private final Map<Path, HbmFileEntry> hbmFiles;
+    private final Map<String, EntityEntry> entities;
+
+    // State of the HBM files when looking for the changed ones, before they're parsed, which is the state recorded
+    // (a file saved during the conversion is then still seen as changed by the next run)
+    private final Map<Path, FileState> hbmFileStates = new HashMap<>();
+    // Output files of the entities processed in this run, and the entities that failed
+    private final Map<String, List<Path>> processedEntities = new ConcurrentHashMap<>();
+    private final Set<String> failedEntities = ConcurrentHashMap.newKeySet();
+
+    private DependencyGraph(final String inputFolder, final String outputFolder, final boolean annotateExisting) {
+        this.inputPath = Paths.get(inputFolder).toAbsolutePath().normalize();
+        this.outputPath = Paths.get(outputFolder).toAbsolutePath().normalize();
+        this.graphFile = outputPath.resolve(FileUtils.STATE_FOLDER).resolve(GRAPH_FILE);
+        this.settings = inputPath + "\t" + (annotateExisting ? "annotate" : "generate");
+        this.hbmFiles = new TreeMap<>();
+        this.entities = new TreeMap<>();
+    }
+
+    /**
+     * Creates an empty graph, so everything is converted, ignoring the graph persisted by a previous run.
+     *
+     * @param outputFolder the folder where the graph is persisted
+     * @param inputFolder the folder of the HBM files
+     * @param annotateExisting whether the existing classes are annotated or new ones generated
+     * @return the empty graph
+     */
+    public static DependencyGraph create(final String outputFolder, final String inputFolder,
+            final boolean annotateExisting) {
+        return new DependencyGraph(inputFolder, outputFolder, annotateExisting);
+    }
+
+    /**
+     * Loads the graph persisted by a previous run with the same input folder and mode. The graph is empty when there
+     * is no usable persisted graph, so everything is converted.
+     *
+     * @param outputFolder the folder where the graph is persisted
+     * @param inputFolder the folder of the HBM files
+     * @param annotateExisting whether the existing classes are annotated or new ones generated
+     * @return the graph
+     */
+    public static DependencyGraph load(final String outputFolder, final String inputFolder,
+            final boolean annotateExisting) {
+        final DependencyGraph graph = create(outputFolder, inputFolder, annotateExisting);
+        if (Files.isRegularFile(graph.graphFile) && !graph.read()) {
+            graph.hbmFiles.clear();
+            graph.entities.clear();
+        }
+        return graph;
+    }
+
+    /**
+     * @return true if the graph was built by a run with these folders and mode, so it can be used by the next one
+     */
+    public boolean isFor(final String inputFolder, final String outputFolder, final boolean annotateExisting) {
+        final DependencyGraph graph = create(outputFolder, inputFolder, annotateExisting);
+        return settings.equals(graph.settings) && graphFile.equals(graph.graphFile);
+    }
+
+    /**
+     * @return true if nothing is known from a previous run
+     */
+    public boolean isEmpty() {
+        return hbmFiles.isEmpty();
+    }
+
+    /**
+     * Finds the HBM files to parse again: the new ones, the changed ones and the ones that failed to be parsed.
+     *
+     * @param currentFiles the HBM files found in the input folder
+     * @return the files to parse again, in the order they were given
+     */
+    public List<File> findChangedFiles(final File[] currentFiles) {
+        final long racyLimit = System.currentTimeMillis() - RACY_MTIME_WINDOW_MILLIS;
+        hbmFileStates.clear();
+        final List<File> changedFiles = new ArrayList<>();
+        for (final File file : currentFiles) {
+            final Path path = toPath(file);
+            final HbmFileEntry entry = hbmFiles.get(path);
+            final FileState state = getState(path, entry != null ? entry.state() : null, racyLimit);
+            if (state != null) {
+                hbmFileStates.put(path, state);
+            }
+            if (entry == null || entry.failed() || state == null || !state.hasContentOf(entry.state())) {
+                changedFiles.add(file);
+            }
+        }
+        return changedFiles;
+    }
+
+    /**
+     * Finds the entities to convert again, from the HBM files changed since the previous run.
+     *
+     * @param currentFiles the HBM files found in the input folder
+     * @param parsedFiles the entities parsed from the changed files (null for the files that failed to be parsed)
+     * @return the simple names of the entities to convert again
+     */
+    public Set<String> findAffectedEntities(final File[] currentFiles, final Map<File, List<JpaEntity>> parsedFiles) {
+        final Set<Path> currentPaths = new TreeSet<>();
+        Arrays.stream(currentFiles).map(DependencyGraph::toPath).forEach(currentPaths::add);
+
+        // The entities of the changed and removed files, and the ones whose output files changed or that failed
+        final Set<String> changedEntities = new TreeSet<>();
+        hbmFiles.forEach((path, entry) -> {
+            if (!currentPaths.contains(path)) {
+                changedEntities.addAll(entry.entities());
+            }
+        });
+        parsedFiles.keySet().stream().map(file -> hbmFiles.get(toPath(file)))
+                .filter(entry -> entry != null)
+                .forEach(entry -> changedEntities.addAll(entry.entities()));
+        forEachEntity(parsedFiles, entity -> changedEntities.add(entity.getSimpleName()));
+        entities.forEach((name, entry) -> {
+            if (entry.failed() || entry.outputs().entrySet().stream()
+                    .anyMatch(output -> !isUnchanged(output.getKey(), output.getValue()))) {
+                changedEntities.add(name);
+            }
+        });
+
+        final Links links = new Links(parsedFiles);
+        final Set<String> affectedEntities = new TreeSet<>(changedEntities);
+        for (final String name : changedEntities) {
+            affectedEntities.addAll(links.get(links.references, name));
+            affectedEntities.addAll(links.get(links.referrers, name));
+        }
+        // The subclasses get their parent table through the changed ones, and the ancestors (not only the direct
+        // parent, when it has no table) their inheritance strategy
+        affectedEntities.addAll(links.closure(changedEntities, links.children));
+        affectedEntities.addAll(links.closure(changedEntities, links.parents));
+        // An embeddable is built and generated along with the entities using it
+        affectedEntities.addAll(links.closure(new ArrayList<>(affectedEntities), links.owners));
+        affectedEntities.addAll(links.closure(new ArrayList<>(affectedEntities), links.embeddables));
+        return affectedEntities;
+    }
+
+    /**
+     * Finds the HBM files to parse to convert again some entities: the files of these entities and of the ones
+     * needed to configure them (the entities they refer to, the ones referring to them, their parent classes and their
+     * subclasses).
+     *
+     * @param currentFiles the HBM files found in the input folder
+     * @param affectedEntities the simple names of the entities to convert again
+     * @param parsedFiles the entities already parsed
+     * @return the files to parse, in the order they were given, except the ones already parsed
+     */
+    public List<File> findFilesToParse(final File[] currentFiles, final Set<String> affectedEntities,
+            final Map<File, List<JpaEntity>> parsedFiles) {
+        final Links links = new Links(parsedFiles);
+        final Set<String> neededEntities = new TreeSet<>(affectedEntities);
+        for (final String name : affectedEntities) {
+            neededEntities.addAll(links.get(links.references, name));
+            neededEntities.addAll(links.get(links.referrers, name));
+        }
+        neededEntities.addAll(links.closure(new ArrayList<>(neededEntities), links.parents));
+        // The inheritance strategy of a class comes from its subclasses
+        neededEntities.addAll(links.closure(affectedEntities, links.children));
+
+        final List<File> filesToParse = new ArrayList<>();
+        for (final File file : currentFiles) {
+            final HbmFileEntry entry = hbmFiles.get(toPath(file));
+            if (!parsedFiles.containsKey(file) && entry != null &&
+                entry.entities().stream().anyMatch(neededEntities::contains)) {
+                filesToParse.add(file);
+            }
+        }
+        return filesToParse;
+    }
+
+    /**
+     * Records the files written for an entity converted in this run. Can be called from several threads.
+     */
+    public void recordProcessed(final String entityName, final List<Path> outputFiles) {
+        processedEntities.put(entityName, outputFiles);
+    }
+
+    /**
+     * Records an entity whose conversion failed, so it's converted again on the next run. Can be called from
+     * several threads.
+     */
+    public void recordFailed(final String entityName) {
+        failedEntities.add(entityName);
+    }
+
+    /**
+     * Updates the graph once the entities were converted and their files written. The HBM files are recorded with
+     * their state found by {@link #findChangedFiles(File[])}.
+     *
+     * @param currentFiles the HBM files found in the input folder
+     * @param parsedFiles the entities parsed in this run (null for the files that failed to be parsed)
+     * @param jpaEntityMap the configured entities of this run
+     */
+    public void update(final File[] currentFiles, final Map<File, List<JpaEntity>> parsedFiles,
+            final Map<String, JpaEntity> jpaEntityMap) {
+        final long racyLimit = System.currentTimeMillis() - RACY_MTIME_WINDOW_MILLIS;
+
+        final Map<Path, HbmFileEntry> updatedFiles = new TreeMap<>();
+        for (final File file : currentFiles) {
+            final Path path = toPath(file);
+            final HbmFileEntry previous = hbmFiles.get(path);
+            final FileState state = hbmFileStates.get(path);
+            if (state == null) {
+                continue;
+            }
+
+            if (parsedFiles.containsKey(file)) {
+                final List<JpaEntity> parsed = parsedFiles.get(file);
+                final List<String> names = parsed != null ?
+                        parsed.stream().map(JpaEntity::getSimpleName).toList() : List.of();
+                updatedFiles.put(path, new HbmFileEntry(state, names, parsed == null));
+            } else if (previous != null) {
+                updatedFiles.put(path, new HbmFileEntry(state, previous.entities(), previous.failed()));
+            }
+        }
+
+        final Map<String, EntityEntry> updatedEntities = new TreeMap<>(entities);
+        for (final JpaEntity entity : jpaEntityMap.values()) {
+            final String name = entity.getSimpleName();
+            final EntityEntry previous = entities.get(name);
+            final Map<Path, FileState> outputs = new TreeMap<>();
+            final boolean failed;
+            if (failedEntities.contains(name)) {
+                failed = true;
+            } else if (processedEntities.containsKey(name)) {
+                processedEntities.get(name).forEach(path -> outputs.put(path.toAbsolutePath().normalize(), null));
+                failed = false;
+            } else if (previous != null) {
+                outputs.putAll(previous.outputs());
+                failed = previous.failed();
+            } else {
+                // Not converted in this run, nor known from a previous one
+                failed = true;
+            }
+            updatedEntities.put(name, new EntityEntry(entity.getSimpleParentClass(), findReferences(entity),
+                    findEmbeddables(entity), outputs, failed));
+        }
+
+        // Forget the entities no longer mapped, the output files are left as is
+        final Set<String> mappedEntities = new TreeSet<>();
+        updatedFiles.values().forEach(entry -> mappedEntities.addAll(entry.entities()));
+        final Deque<String> pending = new ArrayDeque<>(mappedEntities);
+        while (!pending.isEmpty()) {
+            final EntityEntry entry = updatedEntities.get(pending.pop());
+            if (entry != null) {
+                entry.embeddables().stream().filter(mappedEntities::add).forEach(pending::push);
+            }
+        }
+        updatedEntities.keySet().retainAll(mappedEntities);
+
+        // Output files written in this run may be shared with other entities (e.g. a common parent class)
+        for (final EntityEntry entry : updatedEntities.values()) {
+            for (final Map.Entry<Path, FileState> output : new ArrayList<>(entry.outputs().entrySet())) {
+                final FileState state = getState(output.getKey(), output.getValue(), racyLimit);
+                if (state != null) {
+                    output.setValue(state);
+                } else {
+                    entry.outputs().remove(output.getKey());
+                }
+            }
+        }
+
+        hbmFiles.clear();
+        hbmFiles.putAll(updatedFiles);
+        entities.clear();
+        entities.putAll(updatedEntities);
+        hbmFileStates.clear();
+        processedEntities.clear();
+        failedEntities.clear();
+    }
+
+    /**
+     * Persists the graph for the next run.
+     */
+    public void save() {
+        try {
+            Files.createDirectories(graphFile.getParent());
+            try (final BufferedWriter writer = Files.newBufferedWriter(graphFile, StandardCharsets.UTF_8)) {
+                writeLine(writer, GRAPH_HEADER);
+                writeLine(writer, SETTINGS_ENTRY, settings);
+                for (final Map.Entry<Path, HbmFileEntry> entry : hbmFiles.entrySet()) {
+                    final HbmFileEntry hbmFile = entry.getValue();
+                    writeLine(writer, HBM_FILE_ENTRY, relativize(inputPath, entry.getKey()), hbmFile.state().toString(),
+                            String.join(LIST_SEPARATOR, hbmFile.entities()), hbmFile.failed() ? FAILED : "");
+                }
+                for (final Map.Entry<String, EntityEntry> entry : entities.entrySet()) {
+                    final EntityEntry entity = entry.getValue();
+                    writeLine(writer, ENTITY_ENTRY, entry.getKey(), StringUtils.defaultString(entity.parent()),
+                            String.join(LIST_SEPARATOR, entity.references()),
+                            String.join(LIST_SEPARATOR, entity.embeddables()), entity.failed() ? FAILED : "");
+                    for (final Map.Entry<Path, FileState> output : entity.outputs().entrySet()) {
+                        writeLine(writer, OUTPUT_FILE_ENTRY, relativize(outputPath, output.getKey()),
+                                output.getValue().toString());
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            LOG.warn("Unable to persist the dependency graph in " + graphFile + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeLine(final BufferedWriter writer, final String... fields) throws IOException {
+        writer.write(String.join("\t", fields));
+        writer.newLine();
+    }
+
+    private boolean read() {
+        try (final BufferedReader reader = Files.newBufferedReader(graphFile, StandardCharsets.UTF_8)) {
+            if (!GRAPH_HEADER.equals(reader.readLine())) {
+                LOG.warn("Ignoring dependency graph with unknown format: " + graphFile);
+                return false;
+            }
+            final String[] settingsFields = reader.readLine().split("\t", 2);
+            if (!SETTINGS_ENTRY.equals(settingsFields[0]) || !settings.equals(settingsFields[1])) {
+                LOG.info("Input folder or mode changed since the last run, converting everything");
+                return false;
+            }
+
+            EntityEntry entity = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t", -1);
+                if (HBM_FILE_ENTRY.equals(fields[0]) && fields.length == 7) {
+                    hbmFiles.put(inputPath.resolve(fields[1]), new HbmFileEntry(FileState.parse(fields, 2),
+                            splitList(fields[5]), FAILED.equals(fields[6])));
+                } else if (ENTITY_ENTRY.equals(fields[0]) && fields.length == 6) {
+                    entity = new EntityEntry(StringUtils.trimToNull(fields[2]), new TreeSet<>(splitList(fields[3])),
+                            new TreeSet<>(splitList(fields[4])), new TreeMap<>(), FAILED.equals(fields[5]));
+                    entities.put(fields[1], entity);
+                } else if (OUTPUT_FILE_ENTRY.equals(fields[0]) && fields.length == 5 && entity != null) {
+                    entity.outputs().put(outputPath.resolve(fields[1]), FileState.parse(fields, 2));
+                } else {
+                    LOG.warn("Ignoring corrupted dependency graph: " + graphFile);
+                    return false;
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable dependency graph " + graphFile + ": " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private static List<String> splitList(final String value) {
+        return value.isEmpty() ? List.of() : List.of(value.split(LIST_SEPARATOR));
+    }
+
+    private static boolean isUnchanged(final Path path, final FileState state) {
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attrs.size() != state.size()) {
+                return false;
+            }
+            return attrs.lastModifiedTime().toMillis() == state.mtime() || state.digest().equals(FileUtils.digest(path));
+        } catch (final NoSuchFileException e) {
+            return false;
+        } catch (final IOException e) {
+            LOG.warn("Unable to check " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return the current state of a file, reusing the digest of its previous state when the file didn't change,
+     * or null if the file can't be read
+     */
+    private static FileState getState(final Path path, final FileState previous, final long racyLimit) {
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            final long mtime = attrs.lastModifiedTime().toMillis();
+            final String digest = previous != null && previous.size() == attrs.size() && previous.mtime() == mtime ?
+                    previous.digest() : FileUtils.digest(path);
+            return new FileState(attrs.size(), mtime >= racyLimit ? UNKNOWN_MTIME : mtime, digest);
+        } catch (final IOException e) {
+            LOG.debug("Unable to record the state of " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the simple names of the entities the mapping of an entity refers to: its parent class, the targets of
+     * its relationships and its embeddables
+     */
+    private static Set<String> findReferences(final JpaEntity entity) {
+        final Set<String> references = new TreeSet<>(findEmbeddables(entity));
+        if (StringUtils.isNotBlank(entity.getSimpleParentClass())) {
+            references.add(entity.getSimpleParentClass());
+        }
+        for (final JpaRelationship relationship : entity.getRelationships()) {
+            if (StringUtils.isNotBlank(relationship.getReturnType())) {
+                references.add(ClassNameUtils.getSimpleClassName(relationship.getReturnType()));
+            }
+        }
+        return references;
+    }
+
+    /**
+     * @return the simple names of the embeddables configured or generated along with an entity
+     */
+    private static Set<String> findEmbeddables(final JpaEntity entity) {
+        final Set<String> embeddables = new TreeSet<>();
+        for (final JpaCompositeColumn compositeColumn : entity.getCompositeColumns()) {
+            if (StringUtils.isNotBlank(compositeColumn.getType())) {
+                embeddables.add(ClassNameUtils.getSimpleClassName(compositeColumn.getReturnType()));
+            }
+        }
+        for (final JpaRelationship relationship : entity.getRelationships()) {
+            if (StringUtils.isNotBlank(relationship.getCompositeMapKey())) {
+                embeddables.add(relationship.getCompositeMapKey());
+            }
+        }
+        entity.getEmbeddedEntities().forEach(embeddedEntity -> embeddables.add(embeddedEntity.getSimpleName()));
+        return embeddables;
+    }
+
+    private static void forEachEntity(final Map<File, List<JpaEntity>> parsedFiles,
+            final Consumer<JpaEntity> action) {
+        parsedFiles.values().stream().filter(entities -> entities != null).flatMap(List::stream).forEach(action);
+    }
+
+    /**
+     * @return the path of a file relative to a folder, so the output folder can be moved, or the absolute path of
+     * the files out of this folder
+     */
+    private static String relativize(final Path folder, final Path path) {
+        return (path.startsWith(folder) ? folder.relativize(path) : path).toString();
+    }
+
+    private static Path toPath(final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Links between the entities, as known from the previous run and as parsed in this one.
+     */
+    private final class Links {
+
+        private final Map<String, Set<String>> references = new HashMap<>();
+        private final Map<String, Set<String>> referrers = new HashMap<>();
+        private final Map<String, Set<String>> parents = new HashMap<>();
+        private final Map<String, Set<String>> children = new HashMap<>();
+        private final Map<String, Set<String>> embeddables = new HashMap<>();
+        private final Map<String, Set<String>> owners = new HashMap<>();
+
+        private Links(final Map<File, List<JpaEntity>> parsedFiles) {
+            entities.forEach((name, entry) ->
+                    add(name, entry.parent(), entry.references(), entry.embeddables()));
+            forEachEntity(parsedFiles, this::add);
+        }
+
+        private void add(final JpaEntity entity) {
+            add(entity.getSimpleName(), entity.getSimpleParentClass(), findReferences(entity),
+                    findEmbeddables(entity));
+            entity.getEmbeddedEntities().forEach(this::add);
+        }
+
+        private void add(final String name, final String parent, final Collection<String> referenced,
+                final Collection<String> embedded) {
+            for (final String reference : referenced) {
+                link(references, name, reference);
+                link(referrers, reference, name);
+            }
+            if (StringUtils.isNotBlank(parent)) {
+                link(parents, name, parent);
+                link(children, parent, name);
+            }
+            for (final String embeddable : embedded) {
+                link(embeddables, name, embeddable);
+                link(owners, embeddable, name);
+            }
+        }
+
+        private void link(final Map<String, Set<String>> links, final String from, final String to) {
+            links.computeIfAbsent(from, key -> new TreeSet<>()).add(to);
+        }
+
+        private Set<String> get(final Map<String, Set<String>> links, final String name) {
+            return links.getOrDefault(name, Set.of());
+        }
+
+        /**
+         * @return the entities reached from some entities by following links, transitively
+         */
+        private Set<String> closure(final Collection<String> names, final Map<String, Set<String>> links) {
+            final Set<String> reached = new TreeSet<>();
+            final Deque<String> pending = new ArrayDeque<>(names);
+            while (!pending.isEmpty()) {
+                get(links, pending.pop()).stream().filter(reached::add).forEach(pending::push);
+            }
+            return reached;
+        }
+    }
+
+    private record HbmFileEntry(FileState state, List<String> entities, boolean failed) {}
+
+    private record EntityEntry(String parent, Set<String> references, Set<String> embeddables,
+            Map<Path, FileState> outputs, boolean failed) {}
+
+    private record FileState(long size, long mtime, String digest) {
+
+        /**
+         * @return true if the file had the same content in a previous state, this state reusing its digest when the
+         * file didn't change (see {@link #getState(Path, FileState, long)})
+         */
+        private boolean hasContentOf(final FileState previous) {
+            return size == previous.size() && digest.equals(previous.digest());
+        }
+
+        private static FileState parse(final String[] fields, final int index) {
+            return new FileState(Long.parseLong(fields[index]), Long.parseLong(fields[index + 1]), fields[index + 2]);
+        }
+
+        @Override
+        public String toString() {
+            return size + "\t" + mtime + "\t" + digest;
+        }
+    }
+}
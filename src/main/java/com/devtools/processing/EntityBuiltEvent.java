@@ -0,0 +1,31 @@
+package com.devtools.processing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the building of the annotations of an entity, its duration being the time spent building them.
+ */
+@Name("com.devtools.EntityBuilt")
+@Label("Entity Built")
+@Category({"hbm2Java", "Building"})
+@Description("The JPA annotations of an entity built from its mapping")
+@StackTrace(false)
+class EntityBuiltEvent extends Event {
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Class")
+    String className;
+
+    @Label("Fields")
+    int fields;
+
+    @Label("Successful")
+    boolean successful;
+}
@@ -3,15 +3,18 @@ package com.devtools.processing;
 import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.devtools.model.hbm.Tags;
+import com.devtools.model.jpa.JpaAnnotation;
 import com.devtools.model.jpa.JpaColumn;
 import com.devtools.model.jpa.JpaCompositeColumn;
 import com.devtools.model.jpa.JpaEntity;
@@ -22,9 +25,40 @@ import com.devtools.utils.HibernateUtils;
 
 public class EntityGenerator {
 
+    /**
+     * Destination of the generated sources (the file system by default).
+     */
+    @FunctionalInterface
+    public interface SourceWriter {
+        /**
+         * @param headerLength the length of the header of the content (with the generation date), left out when
+         *                     comparing the content with an existing file
+         * @return true if the source was written, false if it was left as is since it didn't change
+         */
+        boolean write(String fileName, String content, int headerLength) throws IOException;
+    }
+
+    private final SourceWriter sourceWriter;
+    /**
+     * Embedded entities already generated, each one written once even when several entities embed its class.
+     */
+    private final Set<String> generatedEmbeddedFiles = ConcurrentHashMap.newKeySet();
+
+    public EntityGenerator() {
+        this(FileUtils::writeFileIfChanged);
+    }
+
+    public EntityGenerator(final SourceWriter sourceWriter) {
+        this.sourceWriter = sourceWriter;
+    }
+
     public void generate(final JpaEntity entityDef, final String outputFolder) throws IOException {
         final StringBuilder entityCode = new StringBuilder();
 
+        // The comment has the generation date, which changes on every run
+        generateComment(entityCode);
+        final int headerLength = entityCode.length();
+
         // Add package declaration and imports
         generateHeaders(entityDef, entityCode);
 
@@ -52,16 +86,47 @@ public class EntityGenerator {
         // Close the class definition
         entityCode.append("}\n");
 
-        FileUtils.writeFile(outputFolder + File.separator + entityDef.getSimpleName() + ".new.java", entityCode.toString());
+        final String fileName = getFileName(entityDef, outputFolder);
+        final JavaFileWrittenEvent event = new JavaFileWrittenEvent();
+        event.begin();
+        final boolean changed = sourceWriter.write(fileName, entityCode.toString(), headerLength);
+        if (event.shouldCommit()) {
+            event.path = fileName;
+            event.bytes = entityCode.length();
+            event.changed = changed;
+            event.commit();
+        }
     }
 
-    private void generateHeaders(final JpaEntity entityDef, final StringBuilder entityCode) {
+    /**
+     * Finds the files written when generating an entity: its own one and the ones of its embedded entities.
+     *
+     * @param entityDef the entity
+     * @param outputFolder the folder where the files are generated
+     * @return the paths of the files
+     */
+    public static List<String> findOutputFiles(final JpaEntity entityDef, final String outputFolder) {
+        final List<String> fileNames = new ArrayList<>();
+        fileNames.add(getFileName(entityDef, outputFolder));
+        for (final JpaEntity embeddedEntity : entityDef.getEmbeddedEntities()) {
+            fileNames.addAll(findOutputFiles(embeddedEntity, outputFolder));
+        }
+        return fileNames;
+    }
+
+    private static String getFileName(final JpaEntity entityDef, final String outputFolder) {
+        return outputFolder + File.separator + entityDef.getSimpleName() + ".new.java";
+    }
+
+    private static void generateComment(final StringBuilder entityCode) {
         final String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
         entityCode.append("/**\n");
         entityCode.append(" * Auto-generated by hbm2Java.\n");
         entityCode.append(" * Generation date: ").append(timestamp);
         entityCode.append("\n */\n");
+    }
 
+    private void generateHeaders(final JpaEntity entityDef, final StringBuilder entityCode) {
         entityCode.append("package ").append(entityDef.getPackageName()).append(";\n\n");
 
         entityCode.append("import javax.persistence.*;\n");
@@ -107,8 +172,8 @@ public class EntityGenerator {
     }
 
     private void generateEntity(final JpaEntity entityDef, final StringBuilder entityCode) {
-        for (final String annotation : entityDef.getAnnotations()) {
-            entityCode.append("\n").append(annotation);
+        for (final JpaAnnotation annotation : entityDef.getAnnotations()) {
+            entityCode.append("\n").append(annotation.toSource(""));
         }
 
         entityCode.append("\npublic ");
@@ -124,9 +189,7 @@ public class EntityGenerator {
     }
 
     private void generatePrimaryKey(final JpaEntity entityDef, final StringBuilder entityCode) {
-        for (final String annotation : entityDef.getPrimaryKey().getAnnotations()) {
-            entityCode.append("    ").append(annotation).append("\n");
-        }
+        appendFieldAnnotations(entityDef.getPrimaryKey().getAnnotations(), entityCode);
         entityCode.append("    private ").append(entityDef.getPrimaryKey().getType())
                 .append(" ").append(entityDef.getPrimaryKey().getName())
                 .append(";\n\n");
@@ -134,9 +197,7 @@ public class EntityGenerator {
 
     private void generateColumns(final JpaEntity entityDef, final StringBuilder entityCode) {
         for (final JpaColumn col : entityDef.getColumns()) {
-            for (final String annotation : col.getAnnotations()) {
-                entityCode.append("    ").append(annotation).append("\n");
-            }
+            appendFieldAnnotations(col.getAnnotations(), entityCode);
             entityCode.append("    private ").append(ClassNameUtils.getSimpleClassName(HibernateUtils.mapHibernateTypeToJava(col.getReturnType())))
                     .append(" ").append(col.getName()).append(";\n\n");
         }
@@ -149,9 +210,7 @@ public class EntityGenerator {
             entityCode.append(compositeColumn.getType()).append("\n");
             entityCode.append("    // TODO probably need to replace UserType class by the @Embeddable class (that must be manually adapted)\n");
 
-            for (final String annotation : compositeColumn.getAnnotations()) {
-                entityCode.append("    ").append(annotation).append("\n");
-            }
+            appendFieldAnnotations(compositeColumn.getAnnotations(), entityCode);
             entityCode.append("    private ").append(compositeColumn.getReturnType())
                     .append(" ").append(compositeColumn.getName()).append(";\n\n");
         }
@@ -159,9 +218,7 @@ public class EntityGenerator {
 
     private void generateRelationships(final JpaEntity entityDef, final StringBuilder entityCode) {
         for (final JpaRelationship relationship : entityDef.getRelationships()) {
-            for (final String annotation : relationship.getAnnotations()) {
-                entityCode.append("    ").append(annotation).append("\n");
-            }
+            appendFieldAnnotations(relationship.getAnnotations(), entityCode);
 
             // Add the generated relationship field
             entityCode.append("    private ");
@@ -195,10 +252,18 @@ public class EntityGenerator {
         }
     }
 
+    private static void appendFieldAnnotations(final List<JpaAnnotation> annotations, final StringBuilder entityCode) {
+        for (final JpaAnnotation annotation : annotations) {
+            entityCode.append("    ").append(annotation.toSource("    ")).append("\n");
+        }
+    }
+
     private void generateEmbedded(final JpaEntity entityDef, final String outputFolder)
             throws IOException {
         for (final JpaEntity embeddedEntity : entityDef.getEmbeddedEntities()) {
-            generate(embeddedEntity, outputFolder);
+            if (generatedEmbeddedFiles.add(getFileName(embeddedEntity, outputFolder))) {
+                generate(embeddedEntity, outputFolder);
+            }
         }
     }
 
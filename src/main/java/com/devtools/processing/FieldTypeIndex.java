@@ -0,0 +1,92 @@
+package com.devtools.processing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.devtools.utils.ClassNameUtils;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+
+/**
+ * Index of the fields declared by the existing Java classes, by their type, used to resolve the {@code mappedBy}
+ * of the inverse relationships.
+ *
+ * <p>The fields of a class are indexed the first time the class is looked up, from its compilation unit in the
+ * {@link CompilationUnitCache} of the run, so a class is parsed only once whether it's annotated or just looked
+ * up.</p>
+ */
+public class FieldTypeIndex {
+
+    private static final Log LOG = LogFactory.getLog(FieldTypeIndex.class);
+
+    private final CompilationUnitCache compilationUnits;
+
+    // Names of the fields of each class by the simple name of their type, in declaration order
+    private final Map<String, Map<String, List<String>>> fieldsByClass = new ConcurrentHashMap<>();
+
+    public FieldTypeIndex(final CompilationUnitCache compilationUnits) {
+        this.compilationUnits = compilationUnits;
+    }
+
+    /**
+     * Searches for the name of a field by its type in a Java class. If several fields have this type, the first
+     * declared one is returned and the ambiguity is reported.
+     *
+     * @param fullClassName the full name of the class to search in
+     * @param type the type of the field to find
+     * @return the field name if found, an empty string otherwise
+     */
+    public String findFieldNameByType(final String fullClassName, final String type) {
+        final List<String> fieldNames = fieldsByClass.computeIfAbsent(fullClassName, this::indexFields)
+                .getOrDefault(ClassNameUtils.getSimpleClassName(type), List.of());
+        if (fieldNames.isEmpty()) {
+            return "";
+        }
+
+        if (fieldNames.size() > 1) {
+            LOG.warn(String.format("Several fields of type %s found in %s %s, using '%s'",
+                    ClassNameUtils.getSimpleClassName(type), fullClassName, fieldNames, fieldNames.get(0)));
+        }
+        return fieldNames.get(0);
+    }
+
+    /**
+     * Indexes the fields of a class, unless already done. Used to index the classes as they are before being
+     * annotated, so the results don't depend on the order the entities are annotated in.
+     */
+    public void index(final String fullClassName) {
+        fieldsByClass.computeIfAbsent(fullClassName, this::indexFields);
+    }
+
+    private Map<String, List<String>> indexFields(final String fullClassName) {
+        final CompilationUnit cu;
+        try {
+            cu = compilationUnits.find(fullClassName);
+        } catch (final IOException e) {
+            LOG.error("Class " + fullClassName + " not found", e);
+            return Collections.emptyMap();
+        }
+        if (cu == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<String>> fieldsByType = new LinkedHashMap<>();
+        for (final FieldDeclaration field : cu.findAll(FieldDeclaration.class)) {
+            final List<String> fieldNames = fieldsByType.computeIfAbsent(
+                    ClassNameUtils.getSimpleClassName(field.getElementType().asString()), key -> new ArrayList<>());
+            for (final VariableDeclarator variable : field.getVariables()) {
+                fieldNames.add(variable.getNameAsString());
+            }
+        }
+        return fieldsByType;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devtools.processing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the parsing of a HBM file, its duration being the time spent parsing it.
+ */
+@Name("com.devtools.HbmFileParsed")
+@Label("HBM File Parsed")
+@Category({"hbm2Java", "Parsing"})
+@Description("A HBM mapping file parsed into entities")
+@StackTrace(false)
+class HbmFileParsedEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Entities")
+    int entities;
+}
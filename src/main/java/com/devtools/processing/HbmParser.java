@@ -1,5 +1,6 @@
 package com.devtools.processing;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -8,18 +9,21 @@ import java.util.List;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import com.devtools.model.hbm.Attributes;
+import com.devtools.model.hbm.HbmElement;
 import com.devtools.model.hbm.Tags;
+import com.devtools.model.jpa.JpaCache;
 import com.devtools.model.jpa.JpaColumn;
 import com.devtools.model.jpa.JpaCompositeColumn;
 import com.devtools.model.jpa.JpaDiscriminator;
@@ -31,14 +35,38 @@ import com.devtools.utils.ClassNameUtils;
 import com.devtools.utils.DomUtils;
 import com.devtools.utils.FileUtils;
 import com.devtools.utils.HibernateUtils;
+import com.devtools.utils.StaxUtils;
 
 public class HbmParser {
 
     private static final Log LOG = LogFactory.getLog(HbmParser.class);
 
+    /**
+     * How the HBM files are read: as a W3C DOM (default) or streamed with StAX, which doesn't materialise
+     * the whole document. Both produce the same elements, so the mapping (and the entities) are the same.
+     */
+    public enum Backend {
+        DOM, STAX
+    }
+
+    private final Backend backend;
+
+    // Neither DocumentBuilder nor XMLInputFactory are thread-safe, so each thread parsing files gets its own
+    // (reused for all its files)
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(HbmParser::newDocumentBuilder);
+    private final ThreadLocal<XMLInputFactory> inputFactory = ThreadLocal.withInitial(HbmParser::newInputFactory);
+
+    public HbmParser() {
+        this(Backend.DOM);
+    }
+
+    public HbmParser(final Backend backend) {
+        this.backend = backend;
+    }
+
     public List<JpaEntity> parse(final String filePath) throws Exception {
         final List<JpaEntity> entities = new ArrayList<>();
-        final Element root = getRootElement(filePath);
+        final HbmElement root = getRootElement(filePath);
         final String packageName = root.getAttribute(Attributes.ATTR_PACKAGE);
 
         parseClasses(root, entities, packageName);
@@ -59,25 +87,67 @@ public class HbmParser {
         return entities;
     }
 
-    private Element getRootElement(final String filePath)
-            throws ParserConfigurationException, SAXException, IOException {
-        // Prepare the DocumentBuilderFactory
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(false);
-        factory.setValidating(false);
-        factory.setFeature("http://xml.org/sax/features/namespaces", false);
-        factory.setFeature("http://xml.org/sax/features/validation", false);
-        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
-        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+    private HbmElement getRootElement(final String filePath) throws SAXException, XMLStreamException, IOException {
+        if (backend == Backend.STAX) {
+            return getRootElementStax(filePath);
+        }
+
+        final DocumentBuilder builder = documentBuilder.get();
+        builder.reset();
 
         // Build the Document
-        final DocumentBuilder builder = factory.newDocumentBuilder();
-        final FileInputStream inputStream = new FileInputStream(filePath);
-        final Document document = builder.parse(inputStream);
-        return document.getDocumentElement();
+        try (final FileInputStream inputStream = new FileInputStream(filePath)) {
+            final Document document = builder.parse(inputStream);
+            return DomUtils.toHbmElement(document.getDocumentElement());
+        }
+    }
+
+    private HbmElement getRootElementStax(final String filePath) throws XMLStreamException, IOException {
+        try (final FileInputStream inputStream = new FileInputStream(filePath)) {
+            final XMLStreamReader reader = inputFactory.get().createXMLStreamReader(inputStream);
+            try {
+                final HbmElement root = StaxUtils.readHbmElement(reader);
+                if (root == null) {
+                    throw new XMLStreamException("No root element found in " + filePath);
+                }
+                return root;
+            } finally {
+                reader.close();
+            }
+        }
     }
 
-    private void parseClasses(final Element root, final List<JpaEntity> entities,
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            // Prepare the DocumentBuilderFactory
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(false);
+            factory.setValidating(false);
+            factory.setFeature("http://xml.org/sax/features/namespaces", false);
+            factory.setFeature("http://xml.org/sax/features/validation", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+            return factory.newDocumentBuilder();
+        } catch (final ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to create the XML document builder", e);
+        }
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        // Same settings as the document builder: no namespaces, no validation and no external DTD loaded. The DTD
+        // is still read, so the entities declared in the file itself are replaced as the DOM backend does
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private void parseClasses(final HbmElement root, final List<JpaEntity> entities,
             final String packageName) {
 
         parseClasses(Tags.TAG_CLASS, root, entities, packageName);
@@ -87,11 +157,11 @@ public class HbmParser {
         parseClasses(Tags.TAG_UNION_SUBCLASS, root, entities, packageName);
     }
 
-    private void parseClasses(final String tagName, final Element root, final List<JpaEntity> entities,
+    private void parseClasses(final String tagName, final HbmElement root, final List<JpaEntity> entities,
             final String packageName) {
         final String defaultCascade = root.getAttribute(Attributes.ATTR_DEFAULT_CASCADE);
-        final List<Element> classElements = DomUtils.getChildrenByTag(root, tagName);
-        for (final Element classElement : classElements) {
+        final List<HbmElement> classElements = root.getChildren(tagName);
+        for (final HbmElement classElement : classElements) {
             final JpaEntity jpaEntity = parseEntity(classElement, defaultCascade);
 
             // If package was mapped in HBM and entity class name has no full name, include the package on it
@@ -104,7 +174,7 @@ public class HbmParser {
         }
     }
 
-    private JpaEntity parseEntity(final Element classElement, final String defaultCascade) {
+    private JpaEntity parseEntity(final HbmElement classElement, final String defaultCascade) {
         final JpaEntity entityDef = new JpaEntity();
 
         entityDef.setDefaultCascade(defaultCascade);
@@ -115,6 +185,7 @@ public class HbmParser {
         entityDef.setAbstractClass(classElement.getAttribute(Attributes.ATTR_ABSTRACT));
         entityDef.setMutable(classElement.getAttribute(Attributes.ATTR_MUTABLE));
         entityDef.setLazy(classElement.getAttribute(Attributes.ATTR_LAZY));
+        entityDef.setBatchSize(NumberUtils.toInt(classElement.getAttribute(Attributes.ATTR_BATCH_SIZE)));
 
         // Only for subclasses
         entityDef.setParentClass(classElement.getAttribute(Attributes.ATTR_EXTENDS));
@@ -122,7 +193,7 @@ public class HbmParser {
 
         parseClassElements(entityDef, classElement);
 
-        final Element joinElement = DomUtils.getFirstChildByTag(classElement, Tags.TAG_JOIN);
+        final HbmElement joinElement = classElement.getFirstChild(Tags.TAG_JOIN);
         if (joinElement != null) {
             entityDef.setSecondTable(joinElement.getAttribute(Attributes.ATTR_TABLE));
 
@@ -137,11 +208,8 @@ public class HbmParser {
         return entityDef;
     }
 
-    private void parseClassElements(final JpaEntity entityDef, final Element classElement) {
-        final Element cacheElement = DomUtils.getFirstChildByTag(classElement, Tags.TAG_CACHE);
-        if (cacheElement != null) {
-            entityDef.setCacheUsage(cacheElement.getAttribute(Attributes.ATTR_USAGE));
-        }
+    private void parseClassElements(final JpaEntity entityDef, final HbmElement classElement) {
+        entityDef.setCache(parseCache(classElement));
 
         parseDiscriminator(classElement, entityDef);
 
@@ -164,13 +232,25 @@ public class HbmParser {
         parseQueries(classElement, entityDef);
     }
 
-    private void parseDiscriminator(final Element element, final JpaEntity entityDef) {
-        final Element discriminatorElement = DomUtils.getFirstChildByTag(element, Tags.TAG_DISCRIMINATOR);
+    private JpaCache parseCache(final HbmElement element) {
+        final HbmElement cacheElement = element.getFirstChild(Tags.TAG_CACHE);
+        if (cacheElement == null) {
+            return null;
+        }
+        final JpaCache cache = new JpaCache();
+        cache.setUsage(cacheElement.getAttribute(Attributes.ATTR_USAGE));
+        cache.setRegion(cacheElement.getAttribute(Attributes.ATTR_REGION));
+        cache.setInclude(cacheElement.getAttribute(Attributes.ATTR_INCLUDE));
+        return cache;
+    }
+
+    private void parseDiscriminator(final HbmElement element, final JpaEntity entityDef) {
+        final HbmElement discriminatorElement = element.getFirstChild(Tags.TAG_DISCRIMINATOR);
         if (discriminatorElement != null) {
             final JpaDiscriminator jpaDiscriminator = entityDef.getDiscriminator();
             jpaDiscriminator.setType(discriminatorElement.getAttribute(Attributes.ATTR_TYPE));
 
-            final Element columnElement = DomUtils.getFirstChildByTag(discriminatorElement, Tags.TAG_COLUMN);
+            final HbmElement columnElement = discriminatorElement.getFirstChild(Tags.TAG_COLUMN);
             if (columnElement != null) {
                 jpaDiscriminator.setColumn(columnElement.getAttribute(Attributes.ATTR_NAME));
                 jpaDiscriminator.setLength(columnElement.getAttribute(Attributes.ATTR_LENGTH));
@@ -178,8 +258,8 @@ public class HbmParser {
         }
     }
 
-    private void parseIdAndGenerator(final Element element, final JpaEntity entityDef) {
-        final Element idElement = DomUtils.getFirstChildByTag(element, Tags.TAG_ID);
+    private void parseIdAndGenerator(final HbmElement element, final JpaEntity entityDef) {
+        final HbmElement idElement = element.getFirstChild(Tags.TAG_ID);
         if (idElement != null) {
             final JpaPrimaryKey primaryKey = new JpaPrimaryKey();
 
@@ -187,21 +267,21 @@ public class HbmParser {
             primaryKey.setColumnName(idElement.getAttribute(Attributes.ATTR_COLUMN));
             primaryKey.setType(HibernateUtils.mapHibernateTypeToJava(idElement.getAttribute(Attributes.ATTR_TYPE)));
 
-            final Element columnElement = DomUtils.getFirstChildByTag(idElement, Tags.TAG_COLUMN);
+            final HbmElement columnElement = idElement.getFirstChild(Tags.TAG_COLUMN);
             if (columnElement != null) {
                 primaryKey.setColumnName(columnElement.getAttribute(Attributes.ATTR_NAME));
             }
 
             // Handle the generator
-            final Element generatorElement = DomUtils.getFirstChildByTag(idElement, Tags.TAG_GENERATOR);
+            final HbmElement generatorElement = idElement.getFirstChild(Tags.TAG_GENERATOR);
             if (generatorElement != null) {
                 final String generatorClass = generatorElement.getAttribute(Attributes.ATTR_CLASS);
 
                 // Collect all params
-                final List<Element> paramElements = DomUtils.getChildrenByTag(generatorElement, Tags.TAG_PARAM);
-                for (final Element paramElement : paramElements) {
+                final List<HbmElement> paramElements = generatorElement.getChildren(Tags.TAG_PARAM);
+                for (final HbmElement paramElement : paramElements) {
                     final String paramName = paramElement.getAttribute(Attributes.ATTR_NAME);
-                    final String paramValue = paramElement.getTextContent().trim();
+                    final String paramValue = paramElement.getText();
                     primaryKey.getGeneratorParams().put(paramName, paramValue);
                 }
 
@@ -233,9 +313,9 @@ public class HbmParser {
         }
     }
 
-    private void parseVersions(final Element element, final JpaEntity entityDef) {
-        final List<Element> versionElements = DomUtils.getChildrenByTag(element, Tags.TAG_VERSION);
-        for(final Element versionElement : versionElements) {
+    private void parseVersions(final HbmElement element, final JpaEntity entityDef) {
+        final List<HbmElement> versionElements = element.getChildren(Tags.TAG_VERSION);
+        for(final HbmElement versionElement : versionElements) {
             final List<JpaColumn> jpaColumns = parseColumns(entityDef, versionElement, null);
             for (final JpaColumn jpaColumn : jpaColumns) {
                 jpaColumn.setVersion(true);
@@ -244,9 +324,9 @@ public class HbmParser {
         }
     }
 
-    private void parseProperties(final Element element, final JpaEntity entityDef) {
-        final List<Element> propertiesElements = DomUtils.getChildrenByTag(element, Tags.TAG_PROPERTIES);
-        for (final Element propertiesElement : propertiesElements) {
+    private void parseProperties(final HbmElement element, final JpaEntity entityDef) {
+        final List<HbmElement> propertiesElements = element.getChildren(Tags.TAG_PROPERTIES);
+        for (final HbmElement propertiesElement : propertiesElements) {
             final boolean unique = Boolean.parseBoolean(propertiesElement.getAttribute(Attributes.ATTR_UNIQUE));
             final String uniqueConstraintName = unique ? propertiesElement.getAttribute(Attributes.ATTR_NAME) : "";
 
@@ -256,22 +336,22 @@ public class HbmParser {
         }
     }
 
-    private void parsePropertyList(final Element element, final JpaEntity entityDef, final String uniqueConstraint) {
+    private void parsePropertyList(final HbmElement element, final JpaEntity entityDef, final String uniqueConstraint) {
         parsePropertyList(element, entityDef, uniqueConstraint, JpaColumn.NaturalId.NONE);
     }
 
-    private void parsePropertyList(final Element element, final JpaEntity entityDef, final JpaColumn.NaturalId naturalId) {
+    private void parsePropertyList(final HbmElement element, final JpaEntity entityDef, final JpaColumn.NaturalId naturalId) {
         parsePropertyList(element, entityDef, null, naturalId);
     }
 
-    private void parsePropertyList(final Element element, final JpaEntity entityDef) {
+    private void parsePropertyList(final HbmElement element, final JpaEntity entityDef) {
         parsePropertyList(element, entityDef, null, JpaColumn.NaturalId.NONE);
     }
 
-    private void parsePropertyList(final Element element, final JpaEntity entityDef,
+    private void parsePropertyList(final HbmElement element, final JpaEntity entityDef,
             final String uniqueConstraint, final JpaColumn.NaturalId naturalId) {
-        final List<Element> propertyElements = DomUtils.getChildrenByTag(element, Tags.TAG_PROPERTY);
-        for (final Element propertyElement : propertyElements) {
+        final List<HbmElement> propertyElements = element.getChildren(Tags.TAG_PROPERTY);
+        for (final HbmElement propertyElement : propertyElements) {
             final List<JpaColumn> jpaColumns = parseColumns(entityDef, propertyElement, uniqueConstraint);
             if (jpaColumns.isEmpty()) {
                 final JpaColumn jpaColumn = parseProperty(propertyElement, uniqueConstraint);
@@ -296,7 +376,7 @@ public class HbmParser {
         }
     }
 
-    private JpaColumn parseProperty(final Element parentElement, final String uniqueConstraint) {
+    private JpaColumn parseProperty(final HbmElement parentElement, final String uniqueConstraint) {
         final String update = parentElement.getAttribute(Attributes.ATTR_UPDATE);
         final String optimisticLock = parentElement.getAttribute(Attributes.ATTR_OPTIMISTIC_LOCK);
 
@@ -310,26 +390,26 @@ public class HbmParser {
         jpaColumn.setOptimisticLock(StringUtils.isBlank(optimisticLock) || Boolean.parseBoolean(optimisticLock));
         jpaColumn.setUniqueConstraint(uniqueConstraint);
 
-        final Element typeElement = DomUtils.getFirstChildByTag(parentElement, Tags.TAG_TYPE);
+        final HbmElement typeElement = parentElement.getFirstChild(Tags.TAG_TYPE);
         if (typeElement != null) {
             jpaColumn.setType(typeElement.getAttribute(Attributes.ATTR_NAME));
 
-            final List<Element> typeParams = DomUtils.getChildrenByTag(typeElement, Tags.TAG_PARAM);
-            for (final Element typeParamElement : typeParams) {
+            final List<HbmElement> typeParams = typeElement.getChildren(Tags.TAG_PARAM);
+            for (final HbmElement typeParamElement : typeParams) {
                 final String typeName = typeParamElement.getAttribute(Attributes.ATTR_NAME);
-                final String typeValue = typeParamElement.getTextContent().trim();
+                final String typeValue = typeParamElement.getText();
                 jpaColumn.addTypeParam(typeName, typeValue);
             }
         }
         return jpaColumn;
     }
 
-    private List<JpaColumn> parseColumns(final JpaEntity entityDef, final Element parentElement,
+    private List<JpaColumn> parseColumns(final JpaEntity entityDef, final HbmElement parentElement,
             final String uniqueConstraint) {
         final List<JpaColumn> jpaColumns = new ArrayList<>();
 
-        final List<Element> columns = DomUtils.getChildrenByTag(parentElement, Tags.TAG_COLUMN);
-        for (final Element columnElement : columns) {
+        final List<HbmElement> columns = parentElement.getChildren(Tags.TAG_COLUMN);
+        for (final HbmElement columnElement : columns) {
             final JpaColumn jpaColumn = parseProperty(parentElement, uniqueConstraint);
 
             if (Tags.TAG_MANY_TO_MANY.equals(parentElement.getTagName())) {
@@ -345,7 +425,7 @@ public class HbmParser {
         return jpaColumns;
     }
 
-    private void parseColumn(final Element columnElement, final JpaColumn jpaColumn) {
+    private void parseColumn(final HbmElement columnElement, final JpaColumn jpaColumn) {
         jpaColumn.setColumnName(columnElement.getAttribute(Attributes.ATTR_NAME));
         jpaColumn.setLength(columnElement.getAttribute(Attributes.ATTR_LENGTH));
         jpaColumn.setNullable(!Boolean.parseBoolean(columnElement.getAttribute(Attributes.ATTR_NOT_NULL)));
@@ -360,9 +440,14 @@ public class HbmParser {
         jpaColumn.setScale(NumberUtils.toInt(columnElement.getAttribute(Attributes.ATTR_SCALE)));
     }
 
-    private void parseNaturalIds(final Element element, final JpaEntity entityDef) {
-        final List<Element> naturalIdElements = DomUtils.getChildrenByTag(element, Tags.TAG_NATURAL_ID);
-        for (final Element naturalIdElement : naturalIdElements) {
+    private void parseNaturalIds(final HbmElement element, final JpaEntity entityDef) {
+        final List<HbmElement> naturalIdElements = element.getChildren(Tags.TAG_NATURAL_ID);
+        // Only along with the @Cache of the entity, which isn't generated without a known usage
+        if (!naturalIdElements.isEmpty() && entityDef.getCache() != null &&
+                entityDef.getCache().getConcurrencyStrategy() != null) {
+            entityDef.setNaturalIdCache(true);
+        }
+        for (final HbmElement naturalIdElement : naturalIdElements) {
             final String mutable = naturalIdElement.getAttribute(Attributes.ATTR_MUTABLE);
             final JpaColumn.NaturalId naturalId = "true".equals(mutable) ?
                     JpaColumn.NaturalId.MUTABLE : JpaColumn.NaturalId.IMMUTABLE;
@@ -371,54 +456,56 @@ public class HbmParser {
         }
     }
 
-    private void parseRelationships(final Element element, final JpaEntity entityDef) {
+    private void parseRelationships(final HbmElement element, final JpaEntity entityDef) {
         parseRelationships(null, element, entityDef, null, null);
     }
 
-    private void parseRelationships(final Element element, final JpaEntity entityDef, final JpaColumn.NaturalId naturalId) {
+    private void parseRelationships(final HbmElement element, final JpaEntity entityDef, final JpaColumn.NaturalId naturalId) {
         parseRelationships(null, element, entityDef, null, naturalId);
     }
 
-    private void parseRelationships(final Element element, final JpaEntity entityDef, final String uniqueConstraintName) {
+    private void parseRelationships(final HbmElement element, final JpaEntity entityDef, final String uniqueConstraintName) {
         parseRelationships(null, element, entityDef, uniqueConstraintName, null);
     }
 
-    private void parseRelationships(final JpaRelationship collectionRelationship, final Element element,
+    private void parseRelationships(final JpaRelationship collectionRelationship, final HbmElement element,
             final JpaEntity entityDef, final String uniqueConstraintName, final JpaColumn.NaturalId naturalId) {
-        final List<Element> manyToOneElements = DomUtils.getChildrenByTag(element, Tags.TAG_MANY_TO_ONE);
-        for (final Element relationshipElement : manyToOneElements) {
+        final List<HbmElement> manyToOneElements = element.getChildren(Tags.TAG_MANY_TO_ONE);
+        for (final HbmElement relationshipElement : manyToOneElements) {
             final JpaRelationship relationship = new JpaRelationship();
             relationship.setRelationshipType(JpaRelationship.Type.ManyToOne);
             relationship.setFetch("eager");
             parseRelationship(relationship, relationshipElement, entityDef, uniqueConstraintName);
+            relationship.setFetchMode(relationshipElement.getAttribute(Attributes.ATTR_FETCH));
 
             for(final JpaColumn refColumn : relationship.getReferencedColumns()) {
                 refColumn.setNaturalId(naturalId);
             }
         }
 
-        final List<Element> oneToOneElements = DomUtils.getChildrenByTag(element, Tags.TAG_ONE_TO_ONE);
-        for (final Element relationshipElement : oneToOneElements) {
+        final List<HbmElement> oneToOneElements = element.getChildren(Tags.TAG_ONE_TO_ONE);
+        for (final HbmElement relationshipElement : oneToOneElements) {
             final JpaRelationship relationship = new JpaRelationship();
             relationship.setRelationshipType(JpaRelationship.Type.OneToOne);
             relationship.setFetch("eager");
             parseRelationship(relationship, relationshipElement, entityDef, uniqueConstraintName);
+            relationship.setFetchMode(relationshipElement.getAttribute(Attributes.ATTR_FETCH));
         }
 
-        final List<Element> oneToManyElements = DomUtils.getChildrenByTag(element, Tags.TAG_ONE_TO_MANY);
-        for (final Element relationshipElement : oneToManyElements) {
+        final List<HbmElement> oneToManyElements = element.getChildren(Tags.TAG_ONE_TO_MANY);
+        for (final HbmElement relationshipElement : oneToManyElements) {
             collectionRelationship.setRelationshipType(JpaRelationship.Type.OneToMany);
             parseRelationship(collectionRelationship, relationshipElement, entityDef, uniqueConstraintName);
         }
 
-        final List<Element> manyToManyElements = DomUtils.getChildrenByTag(element, Tags.TAG_MANY_TO_MANY);
-        for (final Element relationshipElement : manyToManyElements) {
+        final List<HbmElement> manyToManyElements = element.getChildren(Tags.TAG_MANY_TO_MANY);
+        for (final HbmElement relationshipElement : manyToManyElements) {
             collectionRelationship.setRelationshipType(JpaRelationship.Type.ManyToMany);
             parseRelationship(collectionRelationship, relationshipElement, entityDef, uniqueConstraintName);
         }
     }
 
-    private void parseRelationship(final JpaRelationship relationship, final Element relationshipElement,
+    private void parseRelationship(final JpaRelationship relationship, final HbmElement relationshipElement,
             final JpaEntity entityDef, final String uniqueConstraintName) {
         final String name = relationshipElement.getAttribute(Attributes.ATTR_NAME);
         final String type = relationshipElement.getAttribute(Attributes.ATTR_CLASS);
@@ -479,29 +566,29 @@ public class HbmParser {
         entityDef.addRelationship(relationship);
     }
 
-    private void parseCollections(final Element element, final JpaEntity entityDef) {
-        List<Element> collectionElements = DomUtils.getChildrenByTag(element, Tags.TAG_SET);
-        for (final Element collectionElement : collectionElements) {
+    private void parseCollections(final HbmElement element, final JpaEntity entityDef) {
+        List<HbmElement> collectionElements = element.getChildren(Tags.TAG_SET);
+        for (final HbmElement collectionElement : collectionElements) {
             parseCollection(collectionElement, entityDef, Tags.TAG_SET);
         }
 
-        collectionElements = DomUtils.getChildrenByTag(element, Tags.TAG_LIST);
-        for (final Element collectionElement : collectionElements) {
+        collectionElements = element.getChildren(Tags.TAG_LIST);
+        for (final HbmElement collectionElement : collectionElements) {
             parseCollection(collectionElement, entityDef, Tags.TAG_LIST);
         }
 
-        collectionElements = DomUtils.getChildrenByTag(element, Tags.TAG_BAG);
-        for (final Element collectionElement : collectionElements) {
+        collectionElements = element.getChildren(Tags.TAG_BAG);
+        for (final HbmElement collectionElement : collectionElements) {
             parseCollection(collectionElement, entityDef, Tags.TAG_BAG);
         }
 
-        collectionElements = DomUtils.getChildrenByTag(element, Tags.TAG_MAP);
-        for (final Element collectionElement : collectionElements) {
+        collectionElements = element.getChildren(Tags.TAG_MAP);
+        for (final HbmElement collectionElement : collectionElements) {
             parseCollection(collectionElement, entityDef, Tags.TAG_MAP);
         }
     }
 
-    private void parseCollection(final Element collectionElement, final JpaEntity entityDef, final String collectionType) {
+    private void parseCollection(final HbmElement collectionElement, final JpaEntity entityDef, final String collectionType) {
         final JpaRelationship relationship = new JpaRelationship();
         relationship.setName(collectionElement.getAttribute(Attributes.ATTR_NAME));
         relationship.setTable(collectionElement.getAttribute(Attributes.ATTR_TABLE));
@@ -512,29 +599,34 @@ public class HbmParser {
         relationship.setInverse(Boolean.parseBoolean(collectionElement.getAttribute(Attributes.ATTR_INVERSE)));
         relationship.setCascade(collectionElement.getAttribute(Attributes.ATTR_CASCADE), entityDef.getDefaultCascade());
         relationship.setCollectionType(collectionType);
+        relationship.setBatchSize(NumberUtils.toInt(collectionElement.getAttribute(Attributes.ATTR_BATCH_SIZE)));
 
         if (StringUtils.isNotBlank(collectionElement.getAttribute(Attributes.ATTR_LAZY))) {
             relationship.setFetch("false".equals(collectionElement.getAttribute(Attributes.ATTR_LAZY)) ? "eager" : "lazy");
         } else if (StringUtils.isNotBlank(collectionElement.getAttribute(Attributes.ATTR_FETCH))) {
             relationship.setFetch("join".equals(collectionElement.getAttribute(Attributes.ATTR_FETCH)) ? "eager" : "lazy");
         }
+        // The fetch of a nested <many-to-many> is the one of its target rows, not the one of the collection
+        relationship.setFetchMode(collectionElement.getAttribute(Attributes.ATTR_FETCH));
+        relationship.setLazy(collectionElement.getAttribute(Attributes.ATTR_LAZY));
+        relationship.setCache(parseCache(collectionElement));
 
         final JpaColumn keyColumn = parseKey(entityDef, collectionElement, relationship.getName());
         if (keyColumn != null) {
             relationship.addReferencedColumn(keyColumn);
         }
 
-        final Element mapKeyElement = DomUtils.getFirstChildByTag(collectionElement, Tags.TAG_MAP_KEY);
+        final HbmElement mapKeyElement = collectionElement.getFirstChild(Tags.TAG_MAP_KEY);
         if (mapKeyElement != null) {
             final JpaColumn mapKeyColumn = relationship.getReferencedColumns().get(0);
             mapKeyColumn.setType(HibernateUtils.mapHibernateTypeToJava(mapKeyElement.getAttribute(Attributes.ATTR_TYPE)));
             mapKeyColumn.setName(mapKeyElement.getAttribute(Attributes.ATTR_COLUMN));
         }
 
-        final Element compositeMapkeyElement = DomUtils.getFirstChildByTag(collectionElement, Tags.TAG_COMPOSITE_MAP_KEY);
+        final HbmElement compositeMapkeyElement = collectionElement.getFirstChild(Tags.TAG_COMPOSITE_MAP_KEY);
         if (compositeMapkeyElement != null) {
-            final List<Element> keyProperties = DomUtils.getChildrenByTag(compositeMapkeyElement, Tags.TAG_KEY_PROPERTY);
-            for (final Element keyProperty : keyProperties) {
+            final List<HbmElement> keyProperties = compositeMapkeyElement.getChildren(Tags.TAG_KEY_PROPERTY);
+            for (final HbmElement keyProperty : keyProperties) {
                 relationship.setCompositeMapKey(compositeMapkeyElement.getAttribute(Attributes.ATTR_CLASS));
 
                 final JpaColumn compositeMapKeyColumn = new JpaColumn();
@@ -548,14 +640,14 @@ public class HbmParser {
 
         relationship.setOrderBy(collectionElement.getAttribute(Attributes.ATTR_ORDER_BY));
 
-        final Element indexElement = DomUtils.getFirstChildByTag(collectionElement, Tags.TAG_LIST_INDEX);
+        final HbmElement indexElement = collectionElement.getFirstChild(Tags.TAG_LIST_INDEX);
         if (indexElement != null) {
             relationship.setListIndex(indexElement.getAttribute(Attributes.ATTR_COLUMN));
         }
     }
 
-    private JpaColumn parseKey(final JpaEntity entityDef, final Element parentElement, final String name) {
-        final Element keyElement = DomUtils.getFirstChildByTag(parentElement, Tags.TAG_KEY);
+    private JpaColumn parseKey(final JpaEntity entityDef, final HbmElement parentElement, final String name) {
+        final HbmElement keyElement = parentElement.getFirstChild(Tags.TAG_KEY);
         if (keyElement != null) {
             JpaColumn keyColumn = null;
 
@@ -578,9 +670,9 @@ public class HbmParser {
         return null;
     }
 
-    private void parseComponents(final Element element, final JpaEntity entityDef) {
-        final List<Element> componentElements = DomUtils.getChildrenByTag(element, Tags.TAG_COMPONENT);
-        for (final Element componentElement : componentElements) {
+    private void parseComponents(final HbmElement element, final JpaEntity entityDef) {
+        final List<HbmElement> componentElements = element.getChildren(Tags.TAG_COMPONENT);
+        for (final HbmElement componentElement : componentElements) {
             final JpaColumn embeddedColumn = new JpaColumn();
             embeddedColumn.setEmbedded(true);
             embeddedColumn.setName(componentElement.getAttribute(Attributes.ATTR_NAME));
@@ -596,29 +688,29 @@ public class HbmParser {
         }
     }
 
-    private void parseQueries(final Element root, final JpaEntity jpaEntity) {
-        final List<Element> queries = DomUtils.getChildrenByTag(root, Tags.TAG_QUERY);
-        for (final Element query : queries) {
+    private void parseQueries(final HbmElement root, final JpaEntity jpaEntity) {
+        final List<HbmElement> queries = root.getChildren(Tags.TAG_QUERY);
+        for (final HbmElement query : queries) {
             final JpaNamedQuery namedQuery = new JpaNamedQuery();
             namedQuery.setName(query.getAttribute(Attributes.ATTR_NAME));
-            namedQuery.setQuery(query.getTextContent().trim());
+            namedQuery.setQuery(query.getText());
             jpaEntity.addNamedQuery(namedQuery);
         }
 
-        final List<Element> sqlQueries = DomUtils.getChildrenByTag(root, Tags.TAG_SQL_QUERY);
-        for (final Element sqlQuery : sqlQueries) {
+        final List<HbmElement> sqlQueries = root.getChildren(Tags.TAG_SQL_QUERY);
+        for (final HbmElement sqlQuery : sqlQueries) {
             final JpaNamedQuery namedQuery = new JpaNamedQuery();
             namedQuery.setName(sqlQuery.getAttribute(Attributes.ATTR_NAME));
-            namedQuery.setQuery(sqlQuery.getTextContent().trim());
+            namedQuery.setQuery(sqlQuery.getText());
             namedQuery.setNativeQuery(true);
             parseQueryReturnColumns(sqlQuery, namedQuery);
             jpaEntity.addNamedQuery(namedQuery);
         }
     }
 
-    private void parseQueryReturnColumns(final Element element, final JpaNamedQuery namedQuery) {
-        final List<Element> returnScalarElements = DomUtils.getChildrenByTag(element, Tags.TAG_RETURN_SCALAR);
-        for (final Element returnScalarElement : returnScalarElements) {
+    private void parseQueryReturnColumns(final HbmElement element, final JpaNamedQuery namedQuery) {
+        final List<HbmElement> returnScalarElements = element.getChildren(Tags.TAG_RETURN_SCALAR);
+        for (final HbmElement returnScalarElement : returnScalarElements) {
             final JpaColumn returnColumn = new JpaColumn();
             returnColumn.setColumnName(returnScalarElement.getAttribute(Attributes.ATTR_COLUMN));
             returnColumn.setType(returnScalarElement.getAttribute(Attributes.ATTR_TYPE));
@@ -626,22 +718,21 @@ public class HbmParser {
         }
     }
 
-    private void checkMissingTagAttributeImplementations(final Element parent) {
+    private void checkMissingTagAttributeImplementations(final HbmElement parent) {
         if (!Tags.TAGS.contains(parent.getTagName())) {
             LOG.error("ATTENTION: No implementation for tag " + parent.getTagName());
         }
 
-        for (int j = 0; j < parent.getAttributes().getLength(); j++) {
-            final Node attrElement = parent.getAttributes().item(j);
+        for (final String attributeName : parent.getAttributeNames()) {
             if (Attributes.ATTRIBUTES.get(parent.getTagName()) == null ||
-                    !Attributes.ATTRIBUTES.get(parent.getTagName()).contains(attrElement.getNodeName())) {
-                LOG.error("ATTENTION: No implementation for attribute " + attrElement.getNodeName() +
+                    !Attributes.ATTRIBUTES.get(parent.getTagName()).contains(attributeName)) {
+                LOG.error("ATTENTION: No implementation for attribute " + attributeName +
                         " of tag " + parent.getTagName());
             }
         }
 
-        final List<Element> children = DomUtils.getChildrenByTag(parent, null);
-        for (final Element child : children) {
+        final List<HbmElement> children = parent.getChildren();
+        for (final HbmElement child : children) {
             checkMissingTagAttributeImplementations(child);
         }
     }
@@ -0,0 +1,36 @@
+package com.devtools.processing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of the parsing of an existing Java source file, its duration being the time spent parsing it.
+ * The time spent afterwards resolving the symbols of the parsed file is given apart.
+ */
+@Name("com.devtools.JavaFileParsed")
+@Label("Java File Parsed")
+@Category({"hbm2Java", "Annotating"})
+@Description("An existing Java source file parsed to be annotated")
+@StackTrace(false)
+class JavaFileParsedEvent extends Event {
+
+    @Label("Class")
+    String className;
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Symbol Resolution Time")
+    @Timespan
+    long symbolResolutionTime;
+}
@@ -0,0 +1,31 @@
+package com.devtools.processing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the writing of a Java source file, its duration being the time spent writing it.
+ * Existing files left untouched are reported as not changed.
+ */
+@Name("com.devtools.JavaFileWritten")
+@Label("Java File Written")
+@Category({"hbm2Java", "Writing"})
+@Description("A Java source file generated or annotated")
+@StackTrace(false)
+class JavaFileWrittenEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Changed")
+    boolean changed;
+}
@@ -0,0 +1,132 @@
+package com.devtools.processing;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.devtools.model.jpa.JpaAbstract;
+import com.devtools.model.jpa.JpaEntity;
+
+/**
+ * Fields of an entity (primary key, columns, composite columns and relationships) not annotated yet, tracked while
+ * the entity is annotated.
+ *
+ * <p>A field is no longer pending once annotated, or when a field with the same name was already annotated in its
+ * class hierarchy (by this entity or by another one sharing a parent class), or is ignored. The names annotated in
+ * each class of the hierarchy are merged once, then the fields annotated by this entity are applied as they come,
+ * so checking for pending fields doesn't go through every field again.</p>
+ */
+class PendingFields {
+
+    private final List<JpaAbstract> fields = new ArrayList<>();
+    private final Map<JpaAbstract, Integer> indexes = new IdentityHashMap<>();
+    private final Map<String, List<Integer>> indexesByName = new HashMap<>();
+    private final BitSet pending = new BitSet();
+
+    // Classes of the hierarchy whose annotated fields were merged, and the fields annotated since then
+    private final Set<String> mergedClasses = new HashSet<>();
+    private final List<String> annotatedNames = new ArrayList<>();
+    private boolean ignoredFieldsMerged;
+
+    PendingFields(final JpaEntity entity) {
+        if (entity.getPrimaryKey() != null) {
+            fields.add(entity.getPrimaryKey());
+        }
+        fields.addAll(entity.getColumns());
+        fields.addAll(entity.getCompositeColumns());
+        fields.addAll(entity.getRelationships());
+
+        for (int i = 0; i < fields.size(); i++) {
+            final JpaAbstract field = fields.get(i);
+            // A field listed twice is tracked by its first occurrence
+            if (indexes.putIfAbsent(field, i) != null) {
+                continue;
+            }
+            if (field.getName() != null) {
+                indexesByName.computeIfAbsent(field.getName(), key -> new ArrayList<>()).add(i);
+            }
+            if (!field.isProcessed()) {
+                pending.set(i);
+            }
+        }
+    }
+
+    /**
+     * @return the fields with this name not processed yet, in the entity order
+     */
+    List<JpaAbstract> getPending(final String name) {
+        final List<Integer> nameIndexes = indexesByName.get(name);
+        if (nameIndexes == null) {
+            return List.of();
+        }
+
+        final List<JpaAbstract> pendingFields = new ArrayList<>(nameIndexes.size());
+        for (final int index : nameIndexes) {
+            if (!fields.get(index).isProcessed()) {
+                pendingFields.add(fields.get(index));
+            }
+        }
+        return pendingFields;
+    }
+
+    /**
+     * Marks a field as annotated in the class being processed.
+     */
+    void annotated(final JpaAbstract field) {
+        field.setProcessed(true);
+        final Integer index = indexes.get(field);
+        if (index != null) {
+            pending.clear(index);
+        }
+        annotatedNames.add(field.getName());
+    }
+
+    /**
+     * Marks as processed the fields annotated in the class hierarchy of the entity, or ignored.
+     *
+     * @param context the state of the run
+     * @param className the simple name of the class of the entity
+     * @return true if some fields are still pending
+     */
+    boolean hasPending(final AnnotationContext context, final String className) {
+        if (!ignoredFieldsMerged) {
+            markProcessed(context.getIgnoredFields());
+            ignoredFieldsMerged = true;
+        }
+
+        final Set<String> hierarchy = new HashSet<>();
+        for (String clazz = className; clazz != null && hierarchy.add(clazz); clazz = context.getParentClass(clazz)) {
+            if (mergedClasses.add(clazz)) {
+                markProcessed(context.getProcessedFields(clazz));
+            }
+        }
+
+        annotatedNames.forEach(this::markProcessed);
+        annotatedNames.clear();
+        return !pending.isEmpty();
+    }
+
+    private void markProcessed(final Set<String> names) {
+        if (names.size() < indexesByName.size()) {
+            names.forEach(this::markProcessed);
+        } else {
+            indexesByName.keySet().stream().filter(names::contains).forEach(this::markProcessed);
+        }
+    }
+
+    private void markProcessed(final String name) {
+        final List<Integer> nameIndexes = indexesByName.get(name);
+        if (nameIndexes == null) {
+            return;
+        }
+        for (final int index : nameIndexes) {
+            fields.get(index).setProcessed(true);
+            pending.clear(index);
+        }
+    }
+}
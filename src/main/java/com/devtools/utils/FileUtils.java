@@ -1,19 +1,21 @@
 package com.devtools.utils;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -28,6 +30,12 @@ public final class FileUtils {
 
     private static final Log LOG = LogFactory.getLog(FileUtils.class);
 
+    /** Folder, inside the output folder, where the state kept between runs is persisted. */
+    public static final String STATE_FOLDER = ".hbm2java";
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
     private FileUtils() {
         // Utility class - prevent instantiation
     }
@@ -53,6 +61,88 @@ public final class FileUtils {
         LOG.info("Successfully generated " + filename);
     }
 
+    /**
+     * Writes content to a file, unless the file already has this content, so its modification time is kept.
+     * Creates parent directories if they don't exist.
+     *
+     * @param filename the target file path
+     * @param content the content to write
+     * @param headerLength the number of leading characters of the content (e.g. a header with the generation date)
+     *                     left out of the comparison with the existing file, which must still have the same size
+     * @return true if the file was written, false if it was left as is
+     * @throws IOException if an I/O error occurs
+     */
+    public static boolean writeFileIfChanged(final String filename, final String content, final int headerLength)
+            throws IOException {
+        final Path path = Paths.get(filename);
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final int headerBytes = content.substring(0, headerLength).getBytes(StandardCharsets.UTF_8).length;
+        if (hasContent(path, bytes, headerBytes)) {
+            LOG.debug("Unchanged, not written: " + filename);
+            return false;
+        }
+
+        final Path parentDir = path.getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
+        Files.write(path, bytes);
+        LOG.info("Successfully generated " + filename);
+        return true;
+    }
+
+    /**
+     * Checks whether a file has the given content: the sizes are compared first, then the digests of the file,
+     * read as a stream, and of the content.
+     *
+     * @param path the file
+     * @param content the expected content
+     * @param skippedBytes the number of leading bytes left out of the comparison
+     * @return true if the file exists and has this content
+     * @throws IOException if the file can't be read
+     */
+    public static boolean hasContent(final Path path, final byte[] content, final int skippedBytes) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) != content.length) {
+            return false;
+        }
+
+        final MessageDigest contentDigest = newDigest();
+        contentDigest.update(content, skippedBytes, content.length - skippedBytes);
+        return MessageDigest.isEqual(digest(path, skippedBytes), contentDigest.digest());
+    }
+
+    /**
+     * Computes the digest of a file, read as a stream.
+     *
+     * @param path the file
+     * @return the digest, as an hexadecimal string
+     * @throws IOException if the file can't be read
+     */
+    public static String digest(final Path path) throws IOException {
+        return HexFormat.of().formatHex(digest(path, 0));
+    }
+
+    private static byte[] digest(final Path path, final int skippedBytes) throws IOException {
+        final MessageDigest digest = newDigest();
+        try (final InputStream inputStream = Files.newInputStream(path)) {
+            inputStream.skipNBytes(skippedBytes);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+    }
+
     /**
      * Creates a directory and all necessary parent directories.
      * Uses Java NIO for better error handling.
@@ -103,37 +193,6 @@ public final class FileUtils {
         return StringUtils.capitalize(fileName);
     }
 
-    /**
-     * Recursively searches for a file matching the specified class name inside the folder.
-     * It looks for "ClassName.java"
-     * Uses Apache Commons IO for more efficient file searching.
-     *
-     * @param folder    the starting directory to search in
-     * @param className the name of the class (without extension)
-     * @return the full absolute path of the file if found; otherwise, null.
-     */
-    public static String findClassPath(final File folder, final String packageName, final String className) {
-        if (folder == null || !folder.isDirectory()) {
-            return null;
-        }
-
-        final Path rootPath = folder.toPath();
-        final String targetFile = className + ".java";
-        final String packagePath = packageName.replace(".", File.separator);
-
-        try (final Stream<Path> pathStream = Files.find(rootPath, Integer.MAX_VALUE,
-                (path, attr) -> attr.isRegularFile() && path.getFileName().toString().equals(targetFile)).parallel()) {
-            return pathStream
-                    .filter(path -> path.toAbsolutePath().toString().contains(packagePath))
-                    .findFirst()
-                    .map(Path::toAbsolutePath)
-                    .map(Path::toString)
-                    .orElse(null);
-        } catch (final Exception ignored) {
-            return null;
-        }
-    }
-
     public static Map<String, Set<String>> readPropertiesFile(final String resourceName) {
         final Properties properties = new Properties();
         final Map<String, Set<String>> parsedProperties = new HashMap<>();
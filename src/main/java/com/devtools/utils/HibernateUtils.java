@@ -2,10 +2,12 @@ package com.devtools.utils;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -112,14 +114,14 @@ public final class HibernateUtils {
      * Converts a discriminator type string to its JPA DiscriminatorType enum equivalent.
      * 
      * @param type the discriminator type ("string", "char", or "int")
-     * @return the corresponding DiscriminatorType enum reference
+     * @return the name of the corresponding DiscriminatorType constant
      * @throws IllegalStateException if the type is not supported
      */
     public static String getDiscriminatorType(final String type) {
         return switch (type) {
-            case "string" -> "DiscriminatorType.STRING";
-            case "char" -> "DiscriminatorType.CHAR";
-            case "int" -> "DiscriminatorType.INTEGER";
+            case "string" -> "STRING";
+            case "char" -> "CHAR";
+            case "int" -> "INTEGER";
             default -> throw new IllegalStateException("Unexpected discriminator type: " + type);
         };
     }
@@ -128,10 +130,10 @@ public final class HibernateUtils {
      * Converts Hibernate cascade types to JPA CascadeType equivalents.
      * 
      * @param cascade the Hibernate cascade string (comma-separated values)
-     * @return the corresponding JPA CascadeType references as a string
+     * @return the names of the corresponding JPA CascadeType constants
      */
-    public static String convertCascadeTypes(final String cascade) {
-        final StringBuilder cascadeTypes = new StringBuilder();
+    public static List<String> convertCascadeTypes(final String cascade) {
+        final List<String> cascadeTypes = new ArrayList<>();
 
         if (StringUtils.isNotBlank(cascade)) {
             final String[] cascadeArray = cascade.split(",");
@@ -139,47 +141,42 @@ public final class HibernateUtils {
                 // Convert the Hibernate cascade value to JPA CascadeType equivalent
                 switch (cascadeType.trim()) {
                     case "save-update":
-                        cascadeTypes.append("javax.persistence.CascadeType.PERSIST, ");
-                        cascadeTypes.append("javax.persistence.CascadeType.MERGE, ");
+                        cascadeTypes.add("PERSIST");
+                        cascadeTypes.add("MERGE");
                         break;
                     case "delete":
-                        cascadeTypes.append("javax.persistence.CascadeType.REMOVE, ");
+                        cascadeTypes.add("REMOVE");
                         break;
                     case "all":
                     case "all-delete-orphan":
-                        cascadeTypes.append("javax.persistence.CascadeType.ALL, ");
+                        cascadeTypes.add("ALL");
                         break;
                     case "save":
                     case "persist":
-                        cascadeTypes.append("javax.persistence.CascadeType.PERSIST, ");
+                        cascadeTypes.add("PERSIST");
                         break;
                     case "update":
                     case "merge":
-                        cascadeTypes.append("javax.persistence.CascadeType.MERGE, ");
+                        cascadeTypes.add("MERGE");
                         break;
                     default:
                         // Handle unknown cascade types if necessary
                         break;
                 }
             }
-
-            // Remove the trailing comma and space
-            if (!cascadeTypes.isEmpty()) {
-                cascadeTypes.setLength(cascadeTypes.length() - 2);
-            }
         }
 
-        return cascadeTypes.toString();
+        return cascadeTypes;
     }
 
     /**
      * Converts Hibernate cascade types to Hibernate @Cascade equivalents.
      *
      * @param cascade the Hibernate cascade string (comma-separated values)
-     * @return the corresponding Hibernate CascadeType references as a string
+     * @return the names of the corresponding Hibernate CascadeType constants
      */
-    public static String convertHibernateCascadeTypes(final String cascade) {
-        final StringBuilder cascadeTypes = new StringBuilder();
+    public static List<String> convertHibernateCascadeTypes(final String cascade) {
+        final List<String> cascadeTypes = new ArrayList<>();
 
         if (StringUtils.isNotBlank(cascade)) {
             final String[] cascadeArray = cascade.split(",");
@@ -187,38 +184,33 @@ public final class HibernateUtils {
                 // Convert the Hibernate cascade value to JPA CascadeType equivalent
                 switch (cascadeType.trim()) {
                 case "save-update":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.SAVE_UPDATE, ");
+                    cascadeTypes.add("SAVE_UPDATE");
                     break;
                 case "delete":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.REMOVE, ");
+                    cascadeTypes.add("REMOVE");
                     break;
                 case "all":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.ALL, ");
+                    cascadeTypes.add("ALL");
                     break;
                 case "all-delete-orphan":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.ALL, ");
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.DELETE_ORPHAN, ");
+                    cascadeTypes.add("ALL");
+                    cascadeTypes.add("DELETE_ORPHAN");
                     break;
                 case "save":
                 case "persist":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.PERSIST, ");
+                    cascadeTypes.add("PERSIST");
                     break;
                 case "update":
                 case "merge":
-                    cascadeTypes.append("org.hibernate.annotations.CascadeType.MERGE, ");
+                    cascadeTypes.add("MERGE");
                     break;
                 default:
                     // Handle unknown cascade types if necessary
                     break;
                 }
             }
-
-            // Remove the trailing comma and space
-            if (!cascadeTypes.isEmpty()) {
-                cascadeTypes.setLength(cascadeTypes.length() - 2);
-            }
         }
 
-        return cascadeTypes.toString();
+        return cascadeTypes;
     }
 }
@@ -1,9 +1,8 @@
 package com.devtools.utils;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,12 +15,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.devtools.model.jpa.JpaAnnotation;
+
 import com.github.javaparser.JavaParser;
-import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
@@ -30,11 +30,21 @@ import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.comments.LineComment;
 import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.ArrayInitializerExpr;
 import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.ClassExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.MarkerAnnotationExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.expr.Name;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.NormalAnnotationExpr;
+import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.TextBlockLiteralExpr;
 import com.github.javaparser.ast.expr.ThisExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.ast.stmt.BlockStmt;
@@ -42,9 +52,11 @@ import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.VoidType;
+import com.github.javaparser.resolution.TypeSolver;
 import com.github.javaparser.resolution.declarations.ResolvedAnnotationDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 
 /**
@@ -61,73 +73,56 @@ public final class JavaParserUtils {
             "org.hibernate.annotations"
     );
 
-    private static final JavaParser JAVA_PARSER = new JavaParser();
+    // Language level of the parsed sources and of the generated annotations (e.g. text blocks in named queries)
+    public static final ParserConfiguration.LanguageLevel LANGUAGE_LEVEL = ParserConfiguration.LanguageLevel.JAVA_17;
+
+    // JavaParser is not thread-safe, each thread has its own one
+    private static final ThreadLocal<JavaParser> JAVA_PARSER = ThreadLocal.withInitial(() -> new JavaParser(
+            new ParserConfiguration().setLanguageLevel(LANGUAGE_LEVEL)));
 
     private JavaParserUtils() {
         // Utility class - prevent instantiation
     }
 
-    public static CompilationUnit parseJava(final String outputFolder, final String fullClassName) throws IOException {
-        final String classPath = FileUtils.findClassPath(new File(outputFolder),
-                ClassNameUtils.getPackageName(fullClassName), ClassNameUtils.getSimpleClassName(fullClassName));
+    /**
+     * Creates a type solver for the classes of the JRE, remembering the types it solved. Unlike the sources, these
+     * classes don't change from one run to the next, so it can be kept and given to the type solver of each run
+     * (see {@link #newTypeSolver(Path, MemoizingTypeSolver)}).
+     */
+    public static MemoizingTypeSolver newClasspathTypeSolver() {
+        return new MemoizingTypeSolver(new ReflectionTypeSolver());
+    }
 
-        final Path path;
-        try {
-            path = Paths.get(classPath);
-        } catch (final Exception e) {
-            LOG.warn("Java class not found for " + fullClassName);
-            return null;
+    /**
+     * Creates a type solver for the classes of the JRE and of the given source folder. It remembers the types
+     * it solved, so it's meant to be created once and shared by every parser of a run (see
+     * {@link #newParserConfiguration(TypeSolver)}).
+     *
+     * @param sourceFolder the base folder of the Java sources (not used if it doesn't exist)
+     * @param classpathTypeSolver the type solver of the classes of the JRE (see {@link #newClasspathTypeSolver()})
+     * @return the type solver
+     */
+    public static TypeSolver newTypeSolver(final Path sourceFolder, final MemoizingTypeSolver classpathTypeSolver) {
+        final CombinedTypeSolver typeSolver = new CombinedTypeSolver(classpathTypeSolver.share());
+        if (sourceFolder != null && Files.isDirectory(sourceFolder)) {
+            typeSolver.add(new JavaParserTypeSolver(sourceFolder,
+                    new ParserConfiguration().setLanguageLevel(LANGUAGE_LEVEL)));
         }
-
-        final CombinedTypeSolver typeSolver = new CombinedTypeSolver();
-        typeSolver.add(new ReflectionTypeSolver());
-
-        final JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
-        final ParserConfiguration config = new ParserConfiguration().setSymbolResolver(symbolSolver);
-        final JavaParser parser = new JavaParser(config);
-
-        return parser.parse(path).getResult().orElseThrow();
+        return new MemoizingTypeSolver(typeSolver);
     }
 
     /**
-     * Searches for a variable name by its type in a Java class file.
-     * 
-     * @param outputFolder the folder containing the Java source files
-     * @param fullClassName the full name of the class to search in
-     * @param type the type of the variable to find
-     * @return the variable name if found, null otherwise
+     * Creates the configuration of the parsers of the Java sources, resolving the symbols with the given type solver.
+     * The configuration can be shared, but each thread must use its own {@link JavaParser}.
      */
-    public static String findVariableNameByType(final String outputFolder, final String fullClassName,
-            final String type) {
-        final String classPath = FileUtils.findClassPath(new java.io.File(outputFolder),
-                ClassNameUtils.getPackageName(fullClassName), ClassNameUtils.getSimpleClassName(fullClassName));
-
-        final Path path;
-        try {
-            path = Paths.get(classPath);
-        } catch (final Exception e) {
-            return "";
-        }
+    public static ParserConfiguration newParserConfiguration(final TypeSolver typeSolver) {
+        return new ParserConfiguration()
+                .setLanguageLevel(LANGUAGE_LEVEL)
+                .setSymbolResolver(new JavaSymbolSolver(typeSolver));
+    }
 
-        // Parse the file
-        final CompilationUnit cu;
-        try {
-            cu = StaticJavaParser.parse(path);
-        } catch (final IOException e) {
-            LOG.error("Class " + fullClassName + " not found", e);
-            return "";
-        }
-        
-        final Optional<FieldDeclaration> fieldDeclaration = cu.findAll(FieldDeclaration.class).stream()
-                .filter(field -> ClassNameUtils.getSimpleClassName(field.getElementType().asString())
-                        .equals(ClassNameUtils.getSimpleClassName(type)))
-                .findFirst();
-
-        if (fieldDeclaration.isEmpty()) {
-            return "";
-        }
-        return fieldDeclaration.map(declaration ->
-                declaration.getVariables().get(0).getNameAsString()).orElse("");
+    public static CompilationUnit parseJava(final JavaParser parser, final Path path) throws IOException {
+        return parser.parse(path).getResult().orElseThrow();
     }
 
     public static Map<String, FieldDeclaration> findFieldsWithNonStandardGetters(final ClassOrInterfaceDeclaration clazz) {
@@ -176,25 +171,103 @@ public final class JavaParserUtils {
         return nonStandardGetters;
     }
 
-    public static AnnotationExpr toAnnotationExpr(final String annotationString) {
-        final String dummyClass = annotationString + "\npublic class Dummy {}";
+    /**
+     * Builds the JavaParser node of an annotation, with the simple names of its types.
+     */
+    public static AnnotationExpr toAnnotationExpr(final JpaAnnotation annotation) {
+        return toAnnotationExpr(annotation, false);
+    }
 
-        final ParseResult<CompilationUnit> parseResult = JAVA_PARSER.parse(dummyClass);
+    /**
+     * Builds the JavaParser node of an annotation.
+     *
+     * @param annotation the annotation
+     * @param qualified true to write the full names of the types (which then don't need to be imported)
+     * @return the annotation node
+     */
+    public static AnnotationExpr toAnnotationExpr(final JpaAnnotation annotation, final boolean qualified) {
+        final Name name = toName(annotation.getType(), qualified);
+        if (annotation.getMembers().isEmpty()) {
+            return new MarkerAnnotationExpr(name);
+        }
+        if (annotation.isSingleMember()) {
+            return new SingleMemberAnnotationExpr(name,
+                    toExpression(annotation.getMembers().get(JpaAnnotation.VALUE), qualified));
+        }
 
-        if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
-            throw new IllegalArgumentException("Parsing failed: " + parseResult.getProblems());
+        final NodeList<MemberValuePair> pairs = new NodeList<>();
+        for (final Map.Entry<String, JpaAnnotation.Value> member : annotation.getMembers().entrySet()) {
+            pairs.add(new MemberValuePair(member.getKey(), toExpression(member.getValue(), qualified)));
         }
+        return new NormalAnnotationExpr(name, pairs);
+    }
 
-        final CompilationUnit cu = parseResult.getResult().get();
-        return cu.getClassByName("Dummy")
-                .orElseThrow(() -> new IllegalStateException("Dummy class not found"))
-                .getAnnotation(0);
+    private static Expression toExpression(final JpaAnnotation.Value value, final boolean qualified) {
+        if (value instanceof final JpaAnnotation.StringValue string) {
+            return new StringLiteralExpr(JpaAnnotation.escape(string.value()));
+        } else if (value instanceof final JpaAnnotation.TextBlockValue textBlock) {
+            return new TextBlockLiteralExpr(textBlock.value());
+        } else if (value instanceof final JpaAnnotation.LiteralValue literal) {
+            return "true".equals(literal.value()) || "false".equals(literal.value()) ?
+                    new BooleanLiteralExpr(Boolean.parseBoolean(literal.value())) :
+                    new IntegerLiteralExpr(literal.value());
+        } else if (value instanceof final JpaAnnotation.EnumValue enumValue) {
+            return new FieldAccessExpr(toScope(toName(enumValue.type(), qualified)), enumValue.constant());
+        } else if (value instanceof final JpaAnnotation.ClassValue classValue) {
+            return new ClassExpr(toType(toName(classValue.type(), qualified)));
+        } else if (value instanceof final JpaAnnotation.AnnotationValue annotationValue) {
+            return toAnnotationExpr(annotationValue.annotation(), qualified);
+        } else {
+            final NodeList<Expression> values = new NodeList<>();
+            for (final JpaAnnotation.Value element : ((JpaAnnotation.ArrayValue) value).values()) {
+                values.add(toExpression(element, qualified));
+            }
+            return new ArrayInitializerExpr(values);
+        }
     }
 
-    public static boolean addAnnotations(final List<String> newAnnotations, final NodeWithAnnotations<?> node) {
+    private static Name toName(final String type, final boolean qualified) {
+        if (!qualified) {
+            return new Name(ClassNameUtils.getSimpleClassName(type));
+        }
+        Name name = null;
+        for (final String identifier : type.split("\\.")) {
+            name = new Name(name, identifier);
+        }
+        return name;
+    }
+
+    private static Expression toScope(final Name name) {
+        return name.getQualifier().isPresent() ?
+                new FieldAccessExpr(toScope(name.getQualifier().get()), name.getIdentifier()) :
+                new NameExpr(name.getIdentifier());
+    }
+
+    private static ClassOrInterfaceType toType(final Name name) {
+        return new ClassOrInterfaceType(name.getQualifier().map(JavaParserUtils::toType).orElse(null),
+                name.getIdentifier());
+    }
+
+    /**
+     * Adds the annotations that the node doesn't have yet (by name).
+     *
+     * @return true if any annotation was added
+     */
+    public static boolean addAnnotations(final List<JpaAnnotation> newAnnotations, final NodeWithAnnotations<?> node) {
+        return addAnnotations(newAnnotations, node, false);
+    }
+
+    /**
+     * Adds the annotations that the node doesn't have yet (by name).
+     *
+     * @param qualified true to write the full names of the types
+     * @return true if any annotation was added
+     */
+    public static boolean addAnnotations(final List<JpaAnnotation> newAnnotations, final NodeWithAnnotations<?> node,
+            final boolean qualified) {
         boolean added = false;
-        for (final String annotationString : newAnnotations) {
-            final AnnotationExpr annotation = toAnnotationExpr(annotationString);
+        for (final JpaAnnotation newAnnotation : newAnnotations) {
+            final AnnotationExpr annotation = toAnnotationExpr(newAnnotation, qualified);
             final String annotationName = annotation.getNameAsString();
 
             // Check if the node already has the annotation
@@ -397,7 +470,7 @@ public final class JavaParserUtils {
                 } else {
                     // Try to parse value as an annotation (e.g. @Column inside @Columns)
                     try {
-                        final var result = JAVA_PARSER.parseAnnotation(value.toString());
+                        final var result = JAVA_PARSER.get().parseAnnotation(value.toString());
                         if (result.isSuccessful() && result.getResult().isPresent()) {
                             final AnnotationExpr maybeAnnotation = result.getResult().get();
                             if (isPersistenceAnnotationRecursive(maybeAnnotation)) {
@@ -0,0 +1,105 @@
+package com.devtools.utils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+
+/**
+ * Type solver remembering every type it solved (or failed to solve), meant to be shared by all the parsers of a
+ * run so the symbol resolution stays warm from one file to the next.
+ *
+ * <p>The solved types are read without locking. The wrapped solver, which is not thread-safe, is only called by
+ * one thread at a time, and only for the types not solved yet.</p>
+ */
+public class MemoizingTypeSolver implements TypeSolver {
+
+    private final TypeSolver typeSolver;
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solvedTypes =
+            new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private TypeSolver parent;
+
+    public MemoizingTypeSolver(final TypeSolver typeSolver) {
+        this.typeSolver = typeSolver;
+        // The lookups done by the wrapped solver through its root go through this cache as well
+        typeSolver.setParent(this);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(final TypeSolver parent) {
+        Objects.requireNonNull(parent);
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        if (parent == this) {
+            throw new IllegalStateException("The parent of this TypeSolver cannot be itself.");
+        }
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(final String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> solvedType = solvedTypes.get(name);
+        if (solvedType == null) {
+            // Not computeIfAbsent: solving a type may recursively solve other ones through the root solver
+            synchronized (lock) {
+                solvedType = solvedTypes.get(name);
+                if (solvedType == null) {
+                    solvedType = typeSolver.tryToSolveType(name);
+                    solvedTypes.put(name, solvedType);
+                }
+            }
+        }
+        return solvedType;
+    }
+
+    public int size() {
+        return solvedTypes.size();
+    }
+
+    /**
+     * @return a solver of the same types with a parent of its own, so that the types solved by this one can be shared
+     * by the type solvers of several runs (a type solver can only have one parent)
+     */
+    public TypeSolver share() {
+        return new SharedTypeSolver(this);
+    }
+
+    private static final class SharedTypeSolver implements TypeSolver {
+
+        private final MemoizingTypeSolver typeSolver;
+        private TypeSolver parent;
+
+        private SharedTypeSolver(final MemoizingTypeSolver typeSolver) {
+            this.typeSolver = typeSolver;
+        }
+
+        @Override
+        public TypeSolver getParent() {
+            return parent;
+        }
+
+        @Override
+        public void setParent(final TypeSolver parent) {
+            Objects.requireNonNull(parent);
+            if (this.parent != null) {
+                throw new IllegalStateException("This TypeSolver already has a parent.");
+            }
+            this.parent = parent;
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(final String name) {
+            return typeSolver.tryToSolveType(name);
+        }
+    }
+}
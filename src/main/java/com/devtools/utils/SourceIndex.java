@@ -0,0 +1,312 @@
+package com.devtools.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Index of the Java source files found under a base folder.
+ * The folder is walked only once, so looking up a class costs a map access instead of a full tree walk.
+ *
+ * <p>The index can be persisted in the {@value FileUtils#STATE_FOLDER} folder of the base folder. When it is loaded
+ * again, only the directories whose modification time changed since the last run are listed again, as adding,
+ * removing or renaming a file always updates the modification time of its directory.</p>
+ */
+public final class SourceIndex {
+
+    private static final Log LOG = LogFactory.getLog(SourceIndex.class);
+
+    private static final String JAVA_FILE_EXTENSION = ".java";
+    private static final String INDEX_FILE = "source-index";
+    private static final String INDEX_HEADER = "# hbm2java source index v2";
+    private static final String DIRECTORY_ENTRY = "D";
+    private static final String FILE_ENTRY = "F";
+
+    // Directories modified this close to the save time are listed again on the next run, since a change done
+    // in the same timestamp granularity would not be noticed
+    private static final long RACY_MTIME_WINDOW_MILLIS = 2000L;
+    private static final long UNKNOWN_MTIME = -1L;
+
+    private final Map<Path, DirectoryEntry> directories;
+    private final Map<String, List<Path>> pathsBySimpleName = new HashMap<>();
+    private final Map<String, Optional<Path>> resolvedPaths = new ConcurrentHashMap<>();
+
+    private SourceIndex(final Path rootPath, final Map<Path, DirectoryEntry> directories) {
+        this.directories = directories;
+
+        for (final DirectoryEntry directory : directories.values()) {
+            for (final Path file : directory.files()) {
+                final String fileName = file.getFileName().toString();
+                final String simpleName = fileName.substring(0, fileName.length() - JAVA_FILE_EXTENSION.length());
+                pathsBySimpleName.computeIfAbsent(simpleName, key -> new ArrayList<>()).add(rootPath.resolve(file));
+            }
+        }
+        pathsBySimpleName.values().forEach(Collections::sort);
+    }
+
+    /**
+     * Walks the base folder recursively and indexes every "ClassName.java" file found.
+     *
+     * @param baseFolder the folder to index
+     * @return the index (empty if the folder does not exist)
+     */
+    public static SourceIndex build(final String baseFolder) {
+        final Path rootPath = Paths.get(baseFolder).toAbsolutePath().normalize();
+        final Map<Path, DirectoryEntry> directories = new TreeMap<>();
+        if (Files.isDirectory(rootPath)) {
+            walk(rootPath, rootPath, directories);
+        }
+
+        final SourceIndex sourceIndex = new SourceIndex(rootPath, directories);
+        LOG.info("Indexed " + sourceIndex.size() + " Java source files in " + baseFolder);
+        return sourceIndex;
+    }
+
+    /**
+     * Loads the index persisted by a previous run and revalidates it against the base folder, listing again only
+     * the directories changed since then. Falls back to a full walk when there is no usable persisted index.
+     * The revalidated index is persisted again for the next run.
+     *
+     * @param baseFolder the folder to index
+     * @return the up-to-date index
+     */
+    public static SourceIndex load(final String baseFolder) {
+        final Path rootPath = Paths.get(baseFolder).toAbsolutePath().normalize();
+        final Path indexFile = rootPath.resolve(FileUtils.STATE_FOLDER).resolve(INDEX_FILE);
+
+        final Map<Path, DirectoryEntry> persisted = read(indexFile);
+        final SourceIndex sourceIndex;
+        if (persisted == null || !Files.isDirectory(rootPath)) {
+            sourceIndex = build(baseFolder);
+        } else {
+            sourceIndex = new SourceIndex(rootPath, revalidate(rootPath, persisted));
+            LOG.info("Loaded " + sourceIndex.size() + " Java source files from the persisted index of " + baseFolder);
+        }
+
+        sourceIndex.save(indexFile);
+        return sourceIndex;
+    }
+
+    /**
+     * Finds the source file of a class by its fully qualified name.
+     *
+     * @param fullClassName the full class name (e.g., "com.example.MyClass")
+     * @return the absolute path of the source file if found; otherwise, null.
+     */
+    public String find(final String fullClassName) {
+        return find(ClassNameUtils.getPackageName(fullClassName), ClassNameUtils.getSimpleClassName(fullClassName));
+    }
+
+    /**
+     * Finds the source file "ClassName.java" located in the folder of the given package.
+     * When more than one file matches, the duplicates are reported and the first one (in path order) is returned.
+     *
+     * @param packageName the package of the class (may be empty)
+     * @param className the simple name of the class
+     * @return the absolute path of the source file if found; otherwise, null.
+     */
+    public String find(final String packageName, final String className) {
+        if (StringUtils.isBlank(className)) {
+            return null;
+        }
+        final String fullClassName = StringUtils.isNotBlank(packageName) ? packageName + "." + className : className;
+
+        final SourceLookupEvent event = new SourceLookupEvent();
+        event.begin();
+        final boolean cached = event.isEnabled() && resolvedPaths.containsKey(fullClassName);
+        final Optional<Path> path = resolvedPaths.computeIfAbsent(fullClassName, key -> resolve(packageName, className));
+        if (event.shouldCommit()) {
+            event.className = fullClassName;
+            event.found = path.isPresent();
+            event.cached = cached;
+            event.commit();
+        }
+
+        return path.map(Path::toString).orElse(null);
+    }
+
+    private Optional<Path> resolve(final String packageName, final String className) {
+        final List<Path> candidates = pathsBySimpleName.getOrDefault(className, Collections.emptyList());
+        final List<Path> matches;
+        if (StringUtils.isBlank(packageName)) {
+            matches = candidates;
+        } else {
+            final Path packagePath = Paths.get(packageName.replace(".", File.separator));
+            matches = candidates.stream()
+                    .filter(path -> path.getParent() != null && path.getParent().endsWith(packagePath))
+                    .toList();
+        }
+
+        if (matches.size() > 1) {
+            LOG.warn("Found " + matches.size() + " source files for " + packageName + "." + className +
+                     ", using " + matches.get(0) + ". Duplicates: " + matches.subList(1, matches.size()));
+        }
+        return matches.stream().findFirst();
+    }
+
+    public int size() {
+        return pathsBySimpleName.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static void walk(final Path rootPath, final Path startPath, final Map<Path, DirectoryEntry> directories) {
+        try {
+            Files.walkFileTree(startPath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    if (FileUtils.STATE_FOLDER.equals(String.valueOf(dir.getFileName())) && !dir.equals(rootPath)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    directories.put(rootPath.relativize(dir),
+                            new DirectoryEntry(attrs.lastModifiedTime().toMillis(), new ArrayList<>()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && file.getFileName().toString().endsWith(JAVA_FILE_EXTENSION)) {
+                        directories.get(rootPath.relativize(file.getParent())).files().add(rootPath.relativize(file));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+                    LOG.warn("Unable to index " + file + ": " + e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            LOG.error("Unable to index Java sources in " + startPath, e);
+        }
+    }
+
+    private static Map<Path, DirectoryEntry> revalidate(final Path rootPath, final Map<Path, DirectoryEntry> persisted) {
+        final Map<Path, DirectoryEntry> directories = new TreeMap<>();
+        int changedDirectories = 0;
+
+        for (final Map.Entry<Path, DirectoryEntry> entry : persisted.entrySet()) {
+            final Path dir = rootPath.resolve(entry.getKey());
+            final long mtime;
+            try {
+                mtime = Files.getLastModifiedTime(dir).toMillis();
+            } catch (final NoSuchFileException e) {
+                continue; // Removed since the last run
+            } catch (final IOException e) {
+                LOG.warn("Unable to check " + dir + ": " + e.getMessage());
+                continue;
+            }
+
+            if (mtime == entry.getValue().mtime()) {
+                directories.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            changedDirectories++;
+            final DirectoryEntry directory = new DirectoryEntry(mtime, new ArrayList<>());
+            directories.put(entry.getKey(), directory);
+
+            try (final DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+                for (final Path child : children) {
+                    final BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class);
+                    final Path relativeChild = rootPath.relativize(child);
+                    if (attrs.isDirectory()) {
+                        // New directories are indexed entirely, known ones are revalidated on their own
+                        if (!persisted.containsKey(relativeChild)) {
+                            walk(rootPath, child, directories);
+                        }
+                    } else if (attrs.isRegularFile() && child.getFileName().toString().endsWith(JAVA_FILE_EXTENSION)) {
+                        directory.files().add(relativeChild);
+                    }
+                }
+            } catch (final IOException e) {
+                LOG.warn("Unable to list " + dir + ": " + e.getMessage());
+            }
+        }
+
+        LOG.debug("Source index revalidated: " + changedDirectories + " of " + persisted.size() +
+                  " directories listed again");
+        return directories;
+    }
+
+    private static Map<Path, DirectoryEntry> read(final Path indexFile) {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+
+        final Map<Path, DirectoryEntry> directories = new TreeMap<>();
+        try (final BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                LOG.warn("Ignoring source index with unknown format: " + indexFile);
+                return null;
+            }
+
+            DirectoryEntry directory = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t");
+                if (DIRECTORY_ENTRY.equals(fields[0]) && fields.length == 3) {
+                    directory = new DirectoryEntry(Long.parseLong(fields[2]), new ArrayList<>());
+                    directories.put(Paths.get(fields[1]), directory);
+                } else if (FILE_ENTRY.equals(fields[0]) && fields.length == 2 && directory != null) {
+                    directory.files().add(Paths.get(fields[1]));
+                } else {
+                    LOG.warn("Ignoring corrupted source index: " + indexFile);
+                    return null;
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable source index " + indexFile + ": " + e.getMessage());
+            return null;
+        }
+        return directories;
+    }
+
+    private void save(final Path indexFile) {
+        final long racyLimit = System.currentTimeMillis() - RACY_MTIME_WINDOW_MILLIS;
+        try {
+            Files.createDirectories(indexFile.getParent());
+            try (final BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+                writer.write(INDEX_HEADER);
+                writer.newLine();
+                for (final Map.Entry<Path, DirectoryEntry> entry : directories.entrySet()) {
+                    final long mtime = entry.getValue().mtime() >= racyLimit ? UNKNOWN_MTIME : entry.getValue().mtime();
+                    writer.write(DIRECTORY_ENTRY + "\t" + entry.getKey() + "\t" + mtime);
+                    writer.newLine();
+                    for (final Path file : entry.getValue().files()) {
+                        writer.write(FILE_ENTRY + "\t" + file);
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            LOG.warn("Unable to persist the source index in " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param files the paths of the Java source files of the directory, relative to the base folder
+     */
+    private record DirectoryEntry(long mtime, List<Path> files) {}
+}
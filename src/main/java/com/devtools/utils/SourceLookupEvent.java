@@ -0,0 +1,28 @@
+package com.devtools.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of the lookup of a class in the {@link SourceIndex}, its duration being the time spent looking it up.
+ */
+@Name("com.devtools.SourceLookup")
+@Label("Source Lookup")
+@Category({"hbm2Java", "Source Index"})
+@Description("A class looked up in the index of the Java source files")
+@StackTrace(false)
+class SourceLookupEvent extends Event {
+
+    @Label("Class")
+    String className;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Cached")
+    boolean cached;
+}
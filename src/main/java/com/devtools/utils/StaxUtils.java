@@ -0,0 +1,68 @@
+package com.devtools.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.devtools.model.hbm.HbmElement;
+
+/**
+ * Utility class for StAX (Streaming API for XML) operations.
+ * Provides methods to read XML documents in a single forward pass, without building a DOM.
+ */
+public final class StaxUtils {
+
+    private StaxUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Reads the root element of a document (and all its descendants) into a {@link HbmElement} tree.
+     * 
+     * @param reader the stream reader, positioned before the root element
+     * @return the root element of the document, or null if the document has no element
+     * @throws XMLStreamException if the document isn't well-formed
+     */
+    public static HbmElement readHbmElement(final XMLStreamReader reader) throws XMLStreamException {
+        final Deque<HbmElement> openElements = new ArrayDeque<>();
+        HbmElement root = null;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final HbmElement element = new HbmElement(reader.getLocalName());
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    if (openElements.isEmpty()) {
+                        root = element;
+                    } else {
+                        openElements.peek().addChild(element);
+                    }
+                    openElements.push(element);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    final HbmElement closed = openElements.pop();
+                    if (!openElements.isEmpty()) {
+                        openElements.peek().appendChildText(closed);
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (!openElements.isEmpty()) {
+                        openElements.peek().appendText(reader.getText());
+                    }
+                    break;
+                default:
+                    // Comments, processing instructions, DTD, etc. aren't part of the mapping
+                    break;
+            }
+        }
+
+        return root;
+    }
+}
@@ -0,0 +1,89 @@
+package com.devtools.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devtools.model.jpa.JpaAnnotation;
+import com.devtools.model.jpa.JpaEntity;
+import com.devtools.utils.SourceIndex;
+
+/**
+ * The {@code @Cache} and {@code @NaturalIdCache} annotations built from the {@code <cache>} of a class.
+ */
+class CacheAnnotationTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void cachedNaturalIds() throws Exception {
+        final JpaEntity item = build("read-write").get("Item");
+
+        assertThat(annotationNames(item)).contains("Cache", "NaturalIdCache");
+    }
+
+    @Test
+    void noNaturalIdCacheWithoutAKnownUsage() throws Exception {
+        for (final String usage : List.of("", "read_write")) {
+            final JpaEntity item = build(usage).get("Item");
+
+            assertThat(annotationNames(item)).as("Usage '" + usage + "'")
+                    .doesNotContain("Cache", "NaturalIdCache");
+        }
+    }
+
+    @Test
+    void unknownUsageIsReported() throws Exception {
+        try (final LogCapture logCapture = new LogCapture(AnnotationBuilder.class, Level.WARN)) {
+            build("read_write");
+
+            assertThat(logCapture.getMessages()).anyMatch(message ->
+                    message.contains("'read_write'") && message.contains("Item"));
+        }
+    }
+
+    private Map<String, JpaEntity> build(final String usage) throws Exception {
+        final Path file = Files.writeString(Files.createTempFile(tempDir, "Item", ".hbm.xml"), """
+                <?xml version="1.0"?>
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="ITEM">
+                    <cache usage="%s"/>
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <natural-id>
+                      <property name="code" type="string" column="CODE"/>
+                    </natural-id>
+                  </class>
+                </hibernate-mapping>
+                """.formatted(usage));
+
+        final Map<String, JpaEntity> entities = new TreeMap<>();
+        new HbmParser().parse(file.toString()).forEach(entity -> entities.put(entity.getSimpleName(), entity));
+        new ConversionProcessor().configureEntities(entities);
+
+        final AnnotationBuilder annotationBuilder = newAnnotationBuilder();
+        for (final JpaEntity entity : entities.values()) {
+            annotationBuilder.build(entity);
+        }
+        return entities;
+    }
+
+    private AnnotationBuilder newAnnotationBuilder() throws IOException {
+        final String sourceFolder = Files.createDirectories(tempDir.resolve("src")).toString();
+        return new AnnotationBuilder(new FieldTypeIndex(new CompilationUnitCache(sourceFolder,
+                SourceIndex.build(sourceFolder), new ConversionReport())));
+    }
+
+    private static List<String> annotationNames(final JpaEntity entity) {
+        return entity.getAnnotations().stream().map(JpaAnnotation::getSimpleName).toList();
+    }
+}
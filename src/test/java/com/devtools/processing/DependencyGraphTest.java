@@ -0,0 +1,63 @@
+package com.devtools.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DependencyGraphTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path inputFolder;
+    private Path outputFolder;
+    private File hbmFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inputFolder = Files.createDirectories(tempDir.resolve("hbm"));
+        outputFolder = Files.createDirectories(tempDir.resolve("out"));
+        hbmFile = Files.writeString(inputFolder.resolve("Foo.hbm.xml"), "<hibernate-mapping/>").toFile();
+    }
+
+    @Test
+    void unchangedFileIsNotParsedAgain() {
+        convert(load());
+
+        assertThat(load().findChangedFiles(new File[] {hbmFile})).isEmpty();
+    }
+
+    @Test
+    void fileSavedDuringTheConversionIsParsedAgain() throws IOException {
+        final DependencyGraph graph = load();
+        final File[] currentFiles = {hbmFile};
+        assertThat(graph.findChangedFiles(currentFiles)).containsExactly(hbmFile);
+
+        // Saved once the changed files were found, so its previous content is the one converted
+        Files.writeString(hbmFile.toPath(), "<hibernate-mapping package=\"com.foo\"/>");
+        graph.update(currentFiles, Map.of(hbmFile, List.of()), Map.of());
+        graph.save();
+
+        assertThat(load().findChangedFiles(currentFiles)).containsExactly(hbmFile);
+    }
+
+    private DependencyGraph load() {
+        return DependencyGraph.load(outputFolder.toString(), inputFolder.toString(), false);
+    }
+
+    private void convert(final DependencyGraph graph) {
+        final File[] currentFiles = {hbmFile};
+        graph.findChangedFiles(currentFiles);
+        graph.update(currentFiles, Map.of(hbmFile, List.of()), Map.of());
+        graph.save();
+    }
+}
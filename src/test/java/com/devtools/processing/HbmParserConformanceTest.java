@@ -0,0 +1,289 @@
+package com.devtools.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devtools.model.jpa.JpaEntity;
+
+/**
+ * The DOM and StAX backends of {@link HbmParser} must give the same entities, and fail or report the missing
+ * implementations the same way.
+ */
+class HbmParserConformanceTest {
+
+    private static final String HEADER = """
+            <?xml version="1.0"?>
+            <!DOCTYPE hibernate-mapping PUBLIC "-//Hibernate/Hibernate Mapping DTD 3.0//EN"
+                "http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd">
+            """;
+
+    private static final String NO_IMPLEMENTATION = "ATTENTION: No implementation";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void classesAndProperties() throws Exception {
+        assertSameEntities(HEADER + """
+                <hibernate-mapping package="com.x" default-cascade="none">
+                  <class name="Shape" table="SHAPE" discriminator-value="0" dynamic-update="true">
+                    <comment>Shapes &amp; their &lt;attributes&gt;</comment>
+                    <cache usage="read-write" region="shapes" include="non-lazy"/>
+                    <id name="id" type="long" column="ID" unsaved-value="null">
+                      <generator class="seqhilo">
+                        <param name="sequence">SHAPE_SEQ</param>
+                        <param name="max_lo">50</param>
+                      </generator>
+                    </id>
+                    <discriminator type="int"><column name="KIND"/></discriminator>
+                    <natural-id mutable="false">
+                      <property name="code" type="string" column="CODE" length="40"/>
+                    </natural-id>
+                    <version name="version" type="integer"><column name="VERSION"/></version>
+                    <property name="money" type="com.x.MoneyUserType">
+                      <column name="AMOUNT"/>
+                      <column name="CURRENCY" length="3"/>
+                    </property>
+                    <property name="status">
+                      <column name="STATUS" length="10" default="'ACTIVE'"/>
+                      <type name="org.hibernate.type.EnumType">
+                        <param name="enumClass">com.x.Status</param>
+                        <param name="type">12</param>
+                      </type>
+                    </property>
+                    <property name="amount" type="double" update="false">
+                      <column name="AMOUNT_2" not-null="true" precision="12" scale="2" unique-key="UK_AMOUNT"/>
+                    </property>
+                    <property name="label" type="string" column="LABEL" length="20" lazy="true"/>
+                    <properties name="UK_SHAPE_NAME" unique="true">
+                      <property name="firstName" type="string" column="FIRST_NAME"/>
+                      <property name="lastName" type="string" column="LAST_NAME"/>
+                    </properties>
+                    <component name="address" class="com.x.Address">
+                      <property name="street" type="string" column="STREET"/>
+                      <property name="city" type="string" column="CITY"/>
+                    </component>
+                    <join table="SHAPE_EXT">
+                      <key column="SHAPE_ID"/>
+                      <property name="notes" type="string" column="NOTES" length="2000"/>
+                    </join>
+                    <subclass name="Circle" discriminator-value="1">
+                      <property name="radius" type="double" column="RADIUS"/>
+                    </subclass>
+                  </class>
+                  <class name="Detail" table="DETAIL">
+                    <composite-id name="key" class="com.x.DetailKey">
+                      <key-property name="a" column="KA" type="string"/>
+                      <key-property name="b" column="KB" type="long"/>
+                    </composite-id>
+                    <property name="note" column="NOTE" type="string"/>
+                  </class>
+                  <class name="Vehicle" table="VEHICLE" abstract="true">
+                    <id name="id" type="long" column="ID"><generator class="native"/></id>
+                    <union-subclass name="Car" table="CAR">
+                      <property name="doors" type="integer" column="DOORS"/>
+                    </union-subclass>
+                  </class>
+                  <class name="Animal" table="ANIMAL">
+                    <id name="id" type="long" column="ID"><generator class="increment"/></id>
+                    <joined-subclass name="Dog" table="DOG">
+                      <key column="ANIMAL_ID"/>
+                      <property name="breed" type="string" column="BREED"/>
+                    </joined-subclass>
+                  </class>
+                </hibernate-mapping>
+                """);
+    }
+
+    @Test
+    void relationships() throws Exception {
+        assertSameEntities(HEADER + """
+                <hibernate-mapping package="com.shop">
+                  <class name="Customer" table="CUSTOMER" batch-size="50">
+                    <id name="id" type="long" column="ID">
+                      <generator class="sequence"><param name="sequence">CUSTOMER_SEQ</param></generator>
+                    </id>
+                    <set name="orders" inverse="true" batch-size="25" fetch="subselect" order-by="CODE asc">
+                      <cache usage="read-write" region="customer-orders"/>
+                      <key column="CUSTOMER_ID"/>
+                      <one-to-many class="Order"/>
+                    </set>
+                    <bag name="notes" fetch="join" lazy="false" cascade="all-delete-orphan">
+                      <key><column name="CUSTOMER_ID" not-null="true"/></key>
+                      <one-to-many class="Note"/>
+                    </bag>
+                    <list name="audits" lazy="extra" batch-size="10">
+                      <key column="CUSTOMER_ID" foreign-key="FK_AUDIT_CUSTOMER"/>
+                      <list-index column="POS"/>
+                      <one-to-many class="Audit"/>
+                    </list>
+                    <set name="groups" table="CUSTOMER_GROUP" lazy="true">
+                      <key column="CUSTOMER_ID"/>
+                      <many-to-many class="Tag" column="TAG_ID" fetch="join"/>
+                    </set>
+                    <map name="attrs" table="CUSTOMER_ATTR">
+                      <key column="CUSTOMER_ID"/>
+                      <map-key column="ATTR_KEY" type="string"/>
+                      <element column="ATTR_VALUE" type="string"/>
+                    </map>
+                    <map name="byKey" table="CUSTOMER_KEYED">
+                      <key column="CUSTOMER_ID"/>
+                      <composite-map-key class="com.shop.NoteKey">
+                        <key-property name="a" column="KA" type="string"/>
+                        <key-property name="b" column="KB" type="string"/>
+                      </composite-map-key>
+                      <one-to-many class="Note"/>
+                    </map>
+                  </class>
+                  <class name="Order" table="ORDERS" lazy="true">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <many-to-one name="customer" class="Customer" fetch="join" cascade="save-update" update="false">
+                      <column name="CUSTOMER_ID" index="IDX_CUSTOMER_ID"/>
+                    </many-to-one>
+                  </class>
+                  <class name="Profile" table="PROFILE">
+                    <id name="id" type="long" column="ID">
+                      <generator class="foreign"><param name="property">customer</param></generator>
+                    </id>
+                    <one-to-one name="customer" class="Customer" constrained="true"/>
+                  </class>
+                  <class name="Note" table="NOTE">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                  </class>
+                  <class name="Audit" table="AUDIT">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                  </class>
+                  <class name="Tag" table="TAG">
+                    <cache usage="read-only"/>
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                  </class>
+                </hibernate-mapping>
+                """);
+    }
+
+    @Test
+    void queries() throws Exception {
+        assertSameEntities(HEADER + """
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="ITEM">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <query name="Item.findByCode">from Item i where i.code = :code</query>
+                    <query name="Item.findCheap"><![CDATA[from Item i where i.price < 10]]></query>
+                    <sql-query name="Item.count">
+                      select count(*) as total from ITEM
+                      <return-scalar column="total" type="long"/>
+                    </sql-query>
+                  </class>
+                </hibernate-mapping>
+                """);
+        // A file only with queries gives an entity named after the file
+        assertSameEntities(HEADER + """
+                <hibernate-mapping package="com.x">
+                  <query name="Item.findAll">from Item i where i.price &lt; 10</query>
+                </hibernate-mapping>
+                """);
+    }
+
+    @Test
+    void entitiesOfTheInternalSubset() throws Exception {
+        final List<JpaEntity> entities = assertSameEntities("""
+                <?xml version="1.0"?>
+                <!DOCTYPE hibernate-mapping PUBLIC "-//Hibernate/Hibernate Mapping DTD 3.0//EN"
+                    "http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd" [
+                  <!ENTITY tbl "ITEM_T">
+                  <!ENTITY cheap "i.price &lt; 10">
+                ]>
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="&tbl;">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <query name="Item.findCheap">from Item i where &cheap;</query>
+                  </class>
+                </hibernate-mapping>
+                """);
+
+        assertThat(entities.get(0).getTable()).isEqualTo("ITEM_T");
+        assertThat(entities.get(0).getNamedQueries().get(0).getQuery()).contains("i.price < 10");
+
+        // Not declared in the file, so possibly in the external DTD, which isn't read
+        assertSameEntities(HEADER + """
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="&tbl;">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <query name="Item.findCheap">from Item i where &cheap;</query>
+                  </class>
+                </hibernate-mapping>
+                """);
+    }
+
+    @Test
+    void missingImplementations() throws Exception {
+        final String mapping = HEADER + """
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="ITEM" unknown-attribute="true">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <unknown-tag name="value"/>
+                  </class>
+                </hibernate-mapping>
+                """;
+        final List<String> domMessages = captureMissingImplementations(mapping, HbmParser.Backend.DOM);
+
+        assertThat(domMessages).anyMatch(message -> message.contains("unknown-attribute"))
+                .anyMatch(message -> message.contains("unknown-tag"));
+        assertThat(captureMissingImplementations(mapping, HbmParser.Backend.STAX)).isEqualTo(domMessages);
+        assertSameEntities(mapping);
+    }
+
+    @Test
+    void malformedFiles() throws IOException {
+        assertBothFail(HEADER + """
+                <hibernate-mapping package="com.x">
+                  <class name="Item" table="ITEM">
+                </hibernate-mapping>
+                """);
+        assertBothFail("");
+    }
+
+    /**
+     * @return the entities parsed by the DOM backend
+     */
+    private List<JpaEntity> assertSameEntities(final String mapping) throws Exception {
+        final Path file = writeMapping(mapping);
+        final List<JpaEntity> domEntities = new HbmParser(HbmParser.Backend.DOM).parse(file.toString());
+        final List<JpaEntity> staxEntities = new HbmParser(HbmParser.Backend.STAX).parse(file.toString());
+
+        assertThat(domEntities).isNotEmpty();
+        assertThat(staxEntities).usingRecursiveComparison().isEqualTo(domEntities);
+        return domEntities;
+    }
+
+    private void assertBothFail(final String mapping) throws IOException {
+        final Path file = writeMapping(mapping);
+        for (final HbmParser.Backend backend : HbmParser.Backend.values()) {
+            assertThatThrownBy(() -> new HbmParser(backend).parse(file.toString()))
+                    .as("Parsed with " + backend)
+                    .isInstanceOf(Exception.class);
+        }
+    }
+
+    private Path writeMapping(final String mapping) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "Mapping", ".hbm.xml"), mapping);
+    }
+
+    private List<String> captureMissingImplementations(final String mapping, final HbmParser.Backend backend)
+            throws Exception {
+        final Path file = writeMapping(mapping);
+        try (final LogCapture logCapture = new LogCapture(HbmParser.class, Level.ERROR)) {
+            new HbmParser(backend).parse(file.toString());
+            return logCapture.getMessages().stream().filter(message -> message.startsWith(NO_IMPLEMENTATION)).toList();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.devtools.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.devtools.utils.FileUtils;
+
+/**
+ * An incremental run must give the same output as a full run of the same mappings.
+ */
+class IncrementalConversionTest {
+
+    private static final String HEADER = """
+            <?xml version="1.0"?>
+            <!DOCTYPE hibernate-mapping PUBLIC "-//Hibernate/Hibernate Mapping DTD 3.0//EN"
+                "http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd">
+            <hibernate-mapping package="com.inh">
+            """;
+    private static final String FOOTER = "</hibernate-mapping>\n";
+
+    @TempDir
+    private Path tempDir;
+
+    private Path hbmFolder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        hbmFolder = Files.createDirectories(tempDir.resolve("hbm"));
+        writeMapping("Root", """
+                  <class name="Root" table="ROOT">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <discriminator type="string"><column name="KIND"/></discriminator>
+                    <property name="name" type="string" column="NAME"/>
+                  </class>
+                """);
+        // No table, so the inheritance strategy of Root comes from Leaf through Mid
+        writeMapping("Mid", """
+                  <subclass name="Mid" extends="com.inh.Root" discriminator-value="M">
+                    <property name="midValue" type="string" column="MID_VALUE"/>
+                  </subclass>
+                """);
+        writeMapping("Leaf", """
+                  <union-subclass name="Leaf" extends="com.inh.Mid" table="LEAF">
+                    <property name="leafValue" type="string" column="LEAF_VALUE"/>
+                  </union-subclass>
+                """);
+    }
+
+    @Test
+    void convertsAgainTheAncestorsOfAChangedSubclass() throws IOException {
+        final Path incrementalFolder = tempDir.resolve("incremental");
+        convert(incrementalFolder, false);
+        assertThat(readOutputs(incrementalFolder).get("Root.new.java")).contains("InheritanceType.JOINED");
+
+        writeMapping("Leaf", """
+                  <subclass name="Leaf" extends="com.inh.Mid" discriminator-value="L">
+                    <property name="leafValue" type="string" column="LEAF_VALUE"/>
+                  </subclass>
+                """);
+        convert(incrementalFolder, false);
+        final Path fullFolder = tempDir.resolve("full");
+        convert(fullFolder, true);
+
+        final Map<String, String> fullOutputs = readOutputs(fullFolder);
+        assertThat(fullOutputs.get("Root.new.java")).contains("InheritanceType.SINGLE_TABLE");
+        assertThat(readOutputs(incrementalFolder)).isEqualTo(fullOutputs);
+    }
+
+    @Test
+    void runWithoutChangesWritesNoFile() throws IOException {
+        writeMapping("Person", """
+                  <class name="Person" table="PERSON">
+                    <id name="id" type="long" column="ID"><generator class="assigned"/></id>
+                    <component name="address" class="com.inh.Address">
+                      <property name="street" type="string" column="STREET"/>
+                    </component>
+                  </class>
+                """);
+        final Path outputFolder = tempDir.resolve("out");
+        final Path reportFile = tempDir.resolve("report.json");
+        convert(outputFolder, true, reportFile);
+        assertThat(readOutputs(outputFolder).get("Address.new.java")).containsOnlyOnce("@Embeddable");
+
+        convert(outputFolder, true, reportFile);
+        assertThat(Files.readString(reportFile)).doesNotContain("\"changedFiles\"");
+    }
+
+    private void writeMapping(final String name, final String classMapping) throws IOException {
+        Files.writeString(hbmFolder.resolve(name + ".hbm.xml"), HEADER + classMapping + FOOTER);
+    }
+
+    private void convert(final Path outputFolder, final boolean full) {
+        convert(outputFolder, full, null);
+    }
+
+    private void convert(final Path outputFolder, final boolean full, final Path reportFile) {
+        final ConversionOptions options = new ConversionOptions();
+        options.setFull(full);
+        if (reportFile != null) {
+            options.setReportPath(reportFile.toString());
+        }
+        new ConversionProcessor().processConversion(hbmFolder.toString(), outputFolder.toString(), options);
+    }
+
+    /**
+     * @return the content of the Java files written in a folder by their relative path, without the generation date
+     */
+    private static Map<String, String> readOutputs(final Path outputFolder) throws IOException {
+        final Map<String, String> outputs = new TreeMap<>();
+        try (final Stream<Path> paths = Files.walk(outputFolder)) {
+            for (final Path path : paths.filter(path -> path.toString().endsWith(".java")).toList()) {
+                final Path relativePath = outputFolder.relativize(path);
+                if (!relativePath.startsWith(FileUtils.STATE_FOLDER)) {
+                    outputs.put(relativePath.toString(), Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                            .filter(line -> !line.contains("Generation date"))
+                            .collect(Collectors.joining("\n")));
+                }
+            }
+        }
+        return outputs;
+    }
+}
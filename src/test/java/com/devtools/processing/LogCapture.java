@@ -0,0 +1,45 @@
+package com.devtools.processing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+
+/**
+ * Messages logged by a class at a given level or above, from its creation until it's closed.
+ */
+final class LogCapture implements AutoCloseable {
+
+    private final Logger logger;
+    private final AbstractAppender appender;
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    LogCapture(final Class<?> loggingClass, final Level level) {
+        logger = (Logger) LogManager.getLogger(loggingClass);
+        appender = new AbstractAppender("capture", null, null, true, Property.EMPTY_ARRAY) {
+            @Override
+            public void append(final LogEvent event) {
+                if (event.getLevel().isMoreSpecificThan(level)) {
+                    messages.add(event.getMessage().getFormattedMessage());
+                }
+            }
+        };
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    List<String> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public void close() {
+        logger.removeAppender(appender);
+        appender.stop();
+    }
+}